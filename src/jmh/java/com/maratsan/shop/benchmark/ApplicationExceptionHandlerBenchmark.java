@@ -0,0 +1,58 @@
+package com.maratsan.shop.benchmark;
+
+import com.maratsan.shop.config.ErrorHandlingConfig;
+import com.maratsan.shop.exception.NotFoundException;
+import com.maratsan.shop.handler.ApplicationExceptionHandler;
+import com.maratsan.shop.request.ProductRequest;
+import com.maratsan.shop.response.ErrorResponse;
+import com.maratsan.shop.response.ValidationErrorResponse;
+import com.maratsan.shop.service.ProductService;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicationExceptionHandlerBenchmark {
+
+    private ApplicationExceptionHandler exceptionHandler;
+    private ConstraintViolationException constraintViolationException;
+
+
+    @Setup
+    public void setUp() {
+        exceptionHandler = new ApplicationExceptionHandler(new ErrorHandlingConfig(true, ErrorHandlingConfig.LoggingLevel.NONE));
+
+        try (var validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            var violations = validatorFactory.getValidator()
+                    .validate(new ProductRequest("", null, new BigDecimal("-1"), List.of()));
+            constraintViolationException = new ConstraintViolationException(violations);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        var errorCode = ProductService.ErrorCode.PRODUCT_NOT_FOUND;
+        return exceptionHandler.handleBusinessException(new NotFoundException(errorCode.getDescription(), errorCode));
+    }
+
+    @Benchmark
+    public ResponseEntity<ValidationErrorResponse> constraintViolation() {
+        return exceptionHandler.handleConstraintViolationException(constraintViolationException);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> unexpected() {
+        return exceptionHandler.handleThrowable(new IllegalStateException("Unexpected"));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.maratsan.shop.benchmark;
+
+import com.maratsan.shop.Application;
+import com.maratsan.shop.common.Rating;
+import com.maratsan.shop.entity.Category;
+import com.maratsan.shop.entity.Product;
+import com.maratsan.shop.entity.Review;
+import com.maratsan.shop.mapper.CategoryMapperImpl;
+import com.maratsan.shop.mapper.ProductMapper;
+import com.maratsan.shop.mapper.ProductMapperImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+final class BenchmarkFixtures {
+
+    private static final String SCHEMA = "benchmark";
+
+    private BenchmarkFixtures() {
+    }
+
+
+    static ConfigurableApplicationContext startApplication(WebApplicationType webApplicationType, String... properties) {
+        var args = Stream.concat(
+                        Stream.of(
+                                "spring.datasource.hikari.schema=" + SCHEMA,
+                                "spring.flyway.schemas=" + SCHEMA,
+                                "spring.flyway.default-schema=" + SCHEMA,
+                                "app.sql-monitoring.enabled=false"
+                        ),
+                        Arrays.stream(properties)
+                )
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+
+        return new SpringApplicationBuilder(Application.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+
+    static List<Long> insertProducts(ConfigurableApplicationContext context, int productCount) {
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("TRUNCATE \"review\", \"product_category\", \"category\", \"product\"");
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO \"product\" (\"name\", \"description\", \"price\") VALUES (?, ?, ?)",
+                IntStream.range(0, productCount)
+                        .mapToObj(i -> new Object[]{"Benchmark product " + i, "Benchmark description " + i, i})
+                        .toList()
+        );
+        return jdbcTemplate.queryForList("SELECT \"id\" FROM \"product\" ORDER BY \"id\"", Long.class);
+    }
+
+    static void dropSchema(ConfigurableApplicationContext context) {
+        context.getBean(JdbcTemplate.class).execute("DROP SCHEMA IF EXISTS \"" + SCHEMA + "\" CASCADE");
+    }
+
+
+    static ProductMapper productMapper() {
+        var productMapper = new ProductMapperImpl();
+        ReflectionTestUtils.setField(productMapper, "categoryMapper", new CategoryMapperImpl());
+        return productMapper;
+    }
+
+    static List<Product> products(int productCount, int categoryCount, int reviewCount) {
+        var categories = LongStream.rangeClosed(1, categoryCount)
+                .mapToObj(id -> new Category(id, "Category " + id, 0L, Instant.now(), List.of()))
+                .toList();
+
+        return LongStream.rangeClosed(1, productCount)
+                .mapToObj(id -> product(id, categories, reviewCount))
+                .toList();
+    }
+
+    private static Product product(long id, List<Category> categories, int reviewCount) {
+        var product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setDescription("Description of product " + id);
+        product.setPrice(BigDecimal.valueOf(id * 100, 2));
+        product.setCategories(new ArrayList<>(categories));
+        product.setReviews(reviews(product, reviewCount));
+        product.setReviewCount(reviewCount);
+        product.setRatingSum(product.getReviews().stream().mapToLong(review -> review.getRating().getValue()).sum());
+        product.setVersion(0L);
+        product.setUpdatedAt(Instant.now());
+        return product;
+    }
+
+    private static List<Review> reviews(Product product, int reviewCount) {
+        var ratings = Rating.values();
+        return LongStream.range(0, reviewCount)
+                .mapToObj(i -> new Review(product.getId() * reviewCount + i, "Review " + i, ratings[(int) ((product.getId() + i) % ratings.length)], product))
+                .toList();
+    }
+
+}
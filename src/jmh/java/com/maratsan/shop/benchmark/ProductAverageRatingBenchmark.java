@@ -0,0 +1,33 @@
+package com.maratsan.shop.benchmark;
+
+import com.maratsan.shop.entity.Product;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductAverageRatingBenchmark {
+
+    private List<Product> products;
+
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkFixtures.products(100, 0, 10);
+    }
+
+    @Benchmark
+    public void averageRating(Blackhole blackhole) {
+        for (var product : products) {
+            blackhole.consume(product.getAverageRating());
+        }
+    }
+
+}
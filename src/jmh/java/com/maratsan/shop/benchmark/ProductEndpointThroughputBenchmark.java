@@ -0,0 +1,100 @@
+package com.maratsan.shop.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform and virtual request threads under 64 concurrent clients with a 20 connection Hikari pool.
+ * <p>
+ * Baseline on a single CPU sandbox (ops/s, error margins of the same order as the scores):
+ * <pre>
+ * Benchmark       platform-16  platform-200  virtual
+ * getProductById        147.1         110.4    331.0
+ * getProducts           107.0          99.9    214.3
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Threads(64)
+@State(Scope.Benchmark)
+public class ProductEndpointThroughputBenchmark {
+
+    private static final int PRODUCT_COUNT = 1000;
+
+    private static final String VIRTUAL_THREADS = "virtual";
+
+    /**
+     * Request threads: {@code platform-<max>} sizes the Tomcat pool, which virtual threads do not use.
+     */
+    @Param({"platform-16", "platform-200", VIRTUAL_THREADS})
+    private String requestThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Long> productIds;
+
+
+    @Setup
+    public void setUp() {
+        var virtualThreads = VIRTUAL_THREADS.equals(requestThreads);
+        var tomcatMaxThreads = virtualThreads ? "200" : requestThreads.substring("platform-".length());
+        context = BenchmarkFixtures.startApplication(
+                WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + tomcatMaxThreads,
+                "spring.datasource.hikari.maximum-pool-size=20",
+                "spring.datasource.hikari.connection-timeout=5000",
+                "app.cache.enabled=false",
+                "app.error.handling.logging-level=none"
+        );
+        productIds = BenchmarkFixtures.insertProducts(context, PRODUCT_COUNT);
+
+        var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        BenchmarkFixtures.dropSchema(context);
+        context.close();
+    }
+
+    @Benchmark
+    public int getProducts() throws IOException, InterruptedException {
+        return get("/products?size=20");
+    }
+
+    @Benchmark
+    public int getProductById() throws IOException, InterruptedException {
+        var id = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        return get("/products/" + id);
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + path);
+        }
+        return response.statusCode();
+    }
+
+}
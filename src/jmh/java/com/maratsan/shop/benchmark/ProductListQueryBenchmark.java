@@ -0,0 +1,92 @@
+package com.maratsan.shop.benchmark;
+
+import com.maratsan.shop.mapper.ProductMapper;
+import com.maratsan.shop.repository.ProductRepository;
+import com.maratsan.shop.repository.ProductRepository.ProductCategoryView;
+import com.maratsan.shop.response.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductListQueryBenchmark {
+
+    private static final int PRODUCT_COUNT = 1000;
+    private static final int CATEGORY_COUNT = 3;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductMapper productMapper;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> ids;
+
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication(
+                WebApplicationType.NONE,
+                "app.cache.enabled=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+        );
+        var productIds = BenchmarkFixtures.insertProducts(context, PRODUCT_COUNT);
+
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO \"category\" (\"name\") VALUES (?)",
+                IntStream.range(0, CATEGORY_COUNT)
+                        .mapToObj(i -> new Object[]{"Benchmark category " + i})
+                        .toList()
+        );
+        jdbcTemplate.update("""
+                INSERT INTO "product_category" ("product_id", "category_id")
+                SELECT p."id", c."id" FROM "product" p, "category" c
+                WHERE p."name" LIKE 'Benchmark product %' AND c."name" LIKE 'Benchmark category %'
+                """);
+        ids = productIds.subList(0, pageSize);
+
+        productRepository = context.getBean(ProductRepository.class);
+        productMapper = context.getBean(ProductMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(TransactionTemplate.class).getTransactionManager());
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.dropSchema(context);
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> entityGraph() {
+        return transactionTemplate.execute(status -> productMapper.toResponse(productRepository.findAllWithCategoriesByIdInOrderByIdAsc(ids)));
+    }
+
+    @Benchmark
+    public List<ProductResponse> projection() {
+        return transactionTemplate.execute(status -> {
+            var products = productRepository.findViewsByIdIn(ids);
+            var categoriesByProductId = productRepository.findCategoryViewsByProductIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(ProductCategoryView::productId));
+            return products.stream()
+                    .map(product -> productMapper.toResponse(product, categoriesByProductId.getOrDefault(product.id(), List.of())))
+                    .toList();
+        });
+    }
+
+}
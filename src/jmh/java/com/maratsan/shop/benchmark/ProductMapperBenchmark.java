@@ -0,0 +1,42 @@
+package com.maratsan.shop.benchmark;
+
+import com.maratsan.shop.entity.Product;
+import com.maratsan.shop.mapper.ProductMapper;
+import com.maratsan.shop.response.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int categoryCount;
+
+    private ProductMapper productMapper;
+    private List<Product> products;
+
+
+    @Setup
+    public void setUp() {
+        productMapper = BenchmarkFixtures.productMapper();
+        products = BenchmarkFixtures.products(20, categoryCount, 10);
+    }
+
+    @Benchmark
+    public ProductResponse toResponse() {
+        return productMapper.toResponse(products.get(0));
+    }
+
+    @Benchmark
+    public List<ProductResponse> toResponsePage() {
+        return productMapper.toResponse(products);
+    }
+
+}
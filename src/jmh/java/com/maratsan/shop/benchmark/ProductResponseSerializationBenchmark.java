@@ -0,0 +1,71 @@
+package com.maratsan.shop.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maratsan.shop.response.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int productCount;
+
+    @Param({"1", "10"})
+    private int categoryCount;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private JavaType productResponsesType;
+    private List<ProductResponse> productResponses;
+    private byte[] payload;
+
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        productResponsesType = objectMapper.getTypeFactory().constructCollectionType(List.class, ProductResponse.class);
+        productResponses = BenchmarkFixtures.productMapper()
+                .toResponse(BenchmarkFixtures.products(productCount, categoryCount, 10));
+        payload = objectMapper.writeValueAsBytes(productResponses);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes(PayloadSize payloadSize) throws JsonProcessingException {
+        var bytes = objectMapper.writeValueAsBytes(productResponses);
+        payloadSize.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<ProductResponse> readValue() throws IOException {
+        return objectMapper.readValue(payload, productResponsesType);
+    }
+
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+
+    }
+
+}
@@ -10,6 +10,10 @@ public enum DefaultErrorCode {
 
     NOT_FOUND,
 
-    FORBIDDEN
+    FORBIDDEN,
+
+    CONFLICT,
+
+    PRECONDITION_FAILED
 
 }
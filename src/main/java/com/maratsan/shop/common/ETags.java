@@ -0,0 +1,70 @@
+package com.maratsan.shop.common;
+
+import com.maratsan.shop.response.VersionedResponse;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+
+public final class ETags {
+
+    private static final String CBOR_SUFFIX = "cbor";
+
+    private ETags() {
+    }
+
+
+    public static String of(VersionedResponse response) {
+        return "\"" + response.getVersion() + "\"";
+    }
+
+    public static String of(Collection<? extends VersionedResponse> responses) {
+        var buffer = ByteBuffer.allocate(responses.size() * 2 * Long.BYTES);
+        responses.forEach(response -> buffer.putLong(response.getId()).putLong(response.getVersion()));
+
+        return "\"" + DigestUtils.md5DigestAsHex(buffer.array()) + "\"";
+    }
+
+    public static String variant(String eTag, String suffix) {
+        return eTag.substring(0, eTag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    public static String forMediaType(String eTag, MediaType mediaType) {
+        return MediaType.APPLICATION_CBOR.equals(mediaType) ? variant(eTag, CBOR_SUFFIX) : eTag;
+    }
+
+    public static Instant lastModified(Collection<? extends VersionedResponse> responses) {
+        return responses.stream()
+                .map(VersionedResponse::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+    }
+
+    public static Long parseVersion(String eTag) {
+        if (eTag == null || eTag.isBlank() || eTag.trim().equals("*")) {
+            return null;
+        }
+
+        var value = eTag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        var suffixStart = value.indexOf('-', 1);
+        if (suffixStart > 0) {
+            value = value.substring(0, suffixStart);
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+}
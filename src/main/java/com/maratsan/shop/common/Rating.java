@@ -13,4 +13,14 @@ public enum Rating {
 
     private final int value;
 
+
+    public static Rating fromValue(int value) {
+        for (var rating : values()) {
+            if (rating.value == value) {
+                return rating;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rating value: " + value);
+    }
+
 }
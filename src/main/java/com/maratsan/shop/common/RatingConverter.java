@@ -0,0 +1,19 @@
+package com.maratsan.shop.common;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class RatingConverter implements AttributeConverter<Rating, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Rating rating) {
+        return rating == null ? null : (short) rating.getValue();
+    }
+
+    @Override
+    public Rating convertToEntityAttribute(Short value) {
+        return value == null ? null : Rating.fromValue(value);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.maratsan.shop.common;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+@Getter
+public class SerializedResponse {
+
+    public static final String GZIP = "gzip";
+    public static final String GZIP_ETAG_SUFFIX = "gz";
+
+    private final String eTag;
+    private final Instant lastModified;
+    private final byte[] body;
+    private final boolean compressible;
+
+    @Getter(AccessLevel.NONE)
+    private volatile byte[] gzippedBody;
+
+
+    public SerializedResponse(String eTag, Instant lastModified, byte[] body, boolean compressible) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.body = body;
+        this.compressible = compressible;
+    }
+
+    public byte[] getGzippedBody() {
+        var gzipped = gzippedBody;
+        if (gzipped == null) {
+            gzipped = gzip(body);
+            gzippedBody = gzipped;
+        }
+        return gzipped;
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.trim().split(";"))
+                .filter(parts -> parts[0].trim().equalsIgnoreCase(GZIP) || parts[0].trim().equals("*"))
+                .anyMatch(parts -> parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?"));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        var output = new ByteArrayOutputStream(bytes.length / 2 + 32);
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return output.toByteArray();
+    }
+
+}
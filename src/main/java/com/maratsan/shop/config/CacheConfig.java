@@ -0,0 +1,48 @@
+package com.maratsan.shop.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.maratsan.shop.datasource.DelayedEvictionCacheManager;
+import com.maratsan.shop.datasource.DelayedEvictions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORIES = "categories";
+    public static final String SERIALIZED_PRODUCTS = "serializedProducts";
+
+    @Value("${app.cache.enabled:true}")
+    private Boolean enabled = true;
+
+    @Value("${app.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+    private String spec;
+
+
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<DelayedEvictions> delayedEvictions) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+
+        var cacheManager = new CaffeineCacheManager(PRODUCTS, CATEGORIES, SERIALIZED_PRODUCTS);
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(spec));
+        cacheManager.setAllowNullValues(false);
+
+        var evictions = delayedEvictions.getIfAvailable();
+        if (evictions == null) {
+            return new TransactionAwareCacheManagerProxy(cacheManager);
+        }
+        return new TransactionAwareCacheManagerProxy(new DelayedEvictionCacheManager(cacheManager, evictions));
+    }
+
+}
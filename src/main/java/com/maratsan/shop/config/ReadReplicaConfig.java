@@ -0,0 +1,105 @@
+package com.maratsan.shop.config;
+
+import com.maratsan.shop.datasource.DelayedEvictionCache;
+import com.maratsan.shop.datasource.DelayedEvictions;
+import com.maratsan.shop.datasource.ReadYourWritesFilter;
+import com.maratsan.shop.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "app.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.read-replicas.urls}") List<String> urls,
+            @Value("${app.read-replicas.max-lag:1s}") Duration maxLag
+    ) {
+        var primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (var i = 0; i < urls.size(); i++) {
+            var config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i));
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+
+        var routingDataSource = new ReplicaRoutingDataSource(primary, replicas, maxLag);
+        meterRegistry.ifAvailable(registry -> replicas.keySet().forEach(name -> TimeGauge
+                .builder("datasource.replica.lag", routingDataSource, TimeUnit.MILLISECONDS, dataSource -> dataSource.getReplicationLag(name)
+                        .map(lag -> (double) lag.toMillis())
+                        .orElse(Double.NaN))
+                .tag("replica", name)
+                .register(registry)));
+
+        return routingDataSource;
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.read-replicas.read-your-writes-window:5s}") Duration window
+    ) {
+        var registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public DelayedEvictions delayedEvictions(
+            TaskScheduler taskScheduler,
+            @Value("${app.read-replicas.read-your-writes-window:5s}") Duration window
+    ) {
+        return new DelayedEvictions(taskScheduler, window);
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<DelayedEvictionCache> delayedEvictionCacheMeterBinderProvider() {
+        var caffeineProvider = new CaffeineCacheMeterBinderProvider();
+        return (cache, tags) -> cache.getDelegate() instanceof CaffeineCache caffeineCache
+                ? caffeineProvider.getMeterBinder(caffeineCache, tags)
+                : null;
+    }
+
+}
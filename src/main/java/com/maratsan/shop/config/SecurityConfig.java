@@ -33,7 +33,12 @@ public class SecurityConfig {
                 .password("{noop}admin")
                 .authorities("ROLE_ADMIN")
                 .build();
-        return new InMemoryUserDetailsManager(user, admin);
+        UserDetails prometheus = User.builder()
+                .username("prometheus")
+                .password("{noop}prometheus")
+                .authorities("ROLE_METRICS")
+                .build();
+        return new InMemoryUserDetailsManager(user, admin, prometheus);
     }
 
     @Bean
@@ -46,6 +51,9 @@ public class SecurityConfig {
                         auth -> auth
                                 .requestMatchers("/categories/**","/products/**", "/reviews/**").permitAll()
                                 .requestMatchers("swagger-ui/**","/v3/api-docs/**").permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/prometheus").hasAnyRole("METRICS", "ADMIN")
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .anyRequest().denyAll()
                 ).build();
     }
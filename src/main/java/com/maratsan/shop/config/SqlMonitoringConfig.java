@@ -0,0 +1,49 @@
+package com.maratsan.shop.config;
+
+import com.maratsan.shop.monitoring.SqlMonitoringFilter;
+import com.maratsan.shop.monitoring.SqlStatisticsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sql-monitoring.enabled", havingValue = "true")
+public class SqlMonitoringConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource) && !(bean instanceof AbstractRoutingDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatisticsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlMonitoringFilter> sqlMonitoringFilter(
+            @Value("${app.sql-monitoring.max-statements:10}") long maxStatements,
+            @Value("${app.sql-monitoring.max-time:200ms}") Duration maxTime
+    ) {
+        var registration = new FilterRegistrationBean<>(new SqlMonitoringFilter(maxStatements, maxTime));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.maratsan.shop.controller;
 
+import com.maratsan.shop.common.ETags;
+import com.maratsan.shop.request.CategoryAssignmentRequest;
 import com.maratsan.shop.request.CategoryRequest;
+import com.maratsan.shop.response.CategoryAssignmentResponse;
 import com.maratsan.shop.response.ErrorResponse;
 import com.maratsan.shop.response.CategoryResponse;
 import com.maratsan.shop.response.ValidationErrorResponse;
@@ -12,9 +15,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
 
@@ -38,15 +45,33 @@ public class CategoryController {
             }
             """;
 
+    private final static String CATEGORY_VERSION_MISMATCH_EXAMPLE = """
+            {
+                "errorCode": "CATEGORY_VERSION_MISMATCH",
+                "description": "Category has been modified since the given version"
+            }
+            """;
+
+    private final static String CATEGORY_MERGE_INTO_ITSELF_EXAMPLE = """
+            {
+                "errorCode": "CATEGORY_MERGE_INTO_ITSELF",
+                "description": "Category cannot be merged into itself"
+            }
+            """;
+
 
     private final CategoryService categoryService;
+    private final NegotiatedResponses negotiatedResponses;
 
 
     @Operation(summary = "Get categories")
-    @ResponseStatus(HttpStatus.OK)
+    @ApiResponse(responseCode = "304", description = "Not modified")
     @GetMapping
-    public List<CategoryResponse> getCategories() {
-        return categoryService.getAllCategories();
+    public ResponseEntity<List<CategoryResponse>> getCategories(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        var categories = categoryService.getAllCategories();
+
+        return negotiatedResponses.ok(request, ETags.of(categories))
+                .body(categories);
     }
 
     @Operation(summary = "Create category")
@@ -79,10 +104,14 @@ public class CategoryController {
                     )
             )
     )
-    @ResponseStatus(HttpStatus.OK)
+    @ApiResponse(responseCode = "304", description = "Not modified")
     @GetMapping("/{categoryId}")
-    public CategoryResponse getCategory(@PathVariable Long categoryId) {
-        return categoryService.getCategoryById(categoryId);
+    public ResponseEntity<CategoryResponse> getCategory(@PathVariable Long categoryId, NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        var category = categoryService.getCategoryById(categoryId);
+
+        return negotiatedResponses.ok(request, ETags.of(category))
+                .lastModified(category.getUpdatedAt())
+                .body(category);
     }
 
     @Operation(summary = "Update category")
@@ -105,15 +134,30 @@ public class CategoryController {
                     )
             )
     )
+    @ApiResponse(
+            responseCode = "412",
+            description = "Category has been modified since the version given in If-Match",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ErrorResponse.class,
+                            example = CATEGORY_VERSION_MISMATCH_EXAMPLE
+                    )
+            )
+    )
     @SecurityRequirement(name = "basicScheme")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{categoryId}")
-    public CategoryResponse updateCategory(@PathVariable Long categoryId, @RequestBody CategoryRequest categoryRequest) {
-        return categoryService.updateCategory(categoryId, categoryRequest);
+    public ResponseEntity<CategoryResponse> updateCategory(@PathVariable Long categoryId,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @RequestBody CategoryRequest categoryRequest) {
+        var category = categoryService.updateCategory(categoryId, categoryRequest, ETags.parseVersion(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(ETags.of(category))
+                .body(category);
     }
 
-    @Operation(summary = "Delete category")
+    @Operation(summary = "Delete category", description = "Unassigns the category from its products and deletes it; with async=true the products are unassigned in chunks in background")
     @ApiResponse(
             responseCode = "404",
             description = "Category not found",
@@ -124,12 +168,102 @@ public class CategoryController {
                     )
             )
     )
+    @ApiResponse(responseCode = "202", description = "Deletion accepted and running in background")
     @SecurityRequirement(name = "basicScheme")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{categoryId}")
-    public void deleteCategory(@PathVariable Long categoryId) {
-        categoryService.deleteCategoryById(categoryId);
+    public ResponseEntity<Void> deleteCategory(@PathVariable Long categoryId,
+                                               @RequestParam(defaultValue = "false") boolean async) {
+        categoryService.deleteCategoryById(categoryId, async);
+
+        return async
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Assign category to products", description = "Adds the category to every listed product that exists and does not have it yet")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ValidationErrorResponse.class
+                    )
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Category not found",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ErrorResponse.class,
+                            example = CATEGORY_NOT_FOUND_EXAMPLE
+                    )
+            )
+    )
+    @SecurityRequirement(name = "basicScheme")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{categoryId}/products/assign")
+    public CategoryAssignmentResponse assignProducts(@PathVariable Long categoryId, @RequestBody CategoryAssignmentRequest request) {
+        return categoryService.assignProducts(categoryId, request);
+    }
+
+    @Operation(summary = "Unassign category from products", description = "Removes the category from every listed product that has it")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ValidationErrorResponse.class
+                    )
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Category not found",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ErrorResponse.class,
+                            example = CATEGORY_NOT_FOUND_EXAMPLE
+                    )
+            )
+    )
+    @SecurityRequirement(name = "basicScheme")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{categoryId}/products/unassign")
+    public CategoryAssignmentResponse unassignProducts(@PathVariable Long categoryId, @RequestBody CategoryAssignmentRequest request) {
+        return categoryService.unassignProducts(categoryId, request);
+    }
+
+    @Operation(summary = "Merge category", description = "Moves all products of the category to the target category and deletes the category")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Category cannot be merged into itself",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ErrorResponse.class,
+                            example = CATEGORY_MERGE_INTO_ITSELF_EXAMPLE
+                    )
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Category not found",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ErrorResponse.class,
+                            example = CATEGORY_NOT_FOUND_EXAMPLE
+                    )
+            )
+    )
+    @SecurityRequirement(name = "basicScheme")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{categoryId}/merge-into/{targetCategoryId}")
+    public CategoryAssignmentResponse mergeCategory(@PathVariable Long categoryId, @PathVariable Long targetCategoryId) {
+        return categoryService.mergeCategory(categoryId, targetCategoryId);
     }
 
 }
@@ -0,0 +1,46 @@
+package com.maratsan.shop.controller;
+
+import com.maratsan.shop.common.ETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+/**
+ * Builds responses for GET endpoints served as JSON or CBOR.
+ * <p>
+ * The media type is negotiated before the response is built and fixed as its content type, so the ETag can name the
+ * representation: the conditional request check runs before a message converter would pick the format.
+ */
+@RequiredArgsConstructor
+@Component
+class NegotiatedResponses {
+
+    static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+
+    MediaType negotiate(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        return contentNegotiationManager.resolveMediaTypes(request).stream()
+                .flatMap(acceptedType -> MEDIA_TYPES.stream().filter(acceptedType::isCompatibleWith))
+                .findFirst()
+                .orElseThrow(() -> new HttpMediaTypeNotAcceptableException(MEDIA_TYPES));
+    }
+
+    ResponseEntity.BodyBuilder ok(NativeWebRequest request, String eTag) throws HttpMediaTypeNotAcceptableException {
+        var mediaType = negotiate(request);
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .eTag(ETags.forMediaType(eTag, mediaType))
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+}
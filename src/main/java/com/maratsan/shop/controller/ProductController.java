@@ -1,10 +1,25 @@
 package com.maratsan.shop.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.maratsan.shop.common.ETags;
+import com.maratsan.shop.common.SerializedResponse;
+import com.maratsan.shop.request.ProductBatchDeleteRequest;
+import com.maratsan.shop.request.ProductBatchGetRequest;
+import com.maratsan.shop.request.ProductFilterRequest;
 import com.maratsan.shop.request.ProductRequest;
+import com.maratsan.shop.request.ProductSearchRequest;
 import com.maratsan.shop.response.ErrorResponse;
+import com.maratsan.shop.response.ProductBatchDeleteResponse;
+import com.maratsan.shop.response.ProductBatchGetResponse;
+import com.maratsan.shop.response.ProductImportResponse;
 import com.maratsan.shop.response.ProductResponse;
 import com.maratsan.shop.response.ValidationErrorResponse;
+import com.maratsan.shop.service.ProductImportService;
 import com.maratsan.shop.service.ProductService;
+import com.maratsan.shop.service.SerializedProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,10 +27,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Tag(name = "Products")
@@ -31,15 +57,102 @@ public class ProductController {
             }
             """;
 
+    private final static String PRODUCT_VERSION_MISMATCH_EXAMPLE = """
+            {
+                "errorCode": "PRODUCT_VERSION_MISMATCH",
+                "description": "Product has been modified since the given version"
+            }
+            """;
+
+
+    private final static String TEXT_CSV_VALUE = "text/csv";
+
+    private final static ObjectReader CSV_PRODUCT_READER = new CsvMapper()
+            .readerFor(ProductRequest.class)
+            .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator(";"));
+
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final SerializedProductService serializedProductService;
+    private final ObjectMapper objectMapper;
+    private final NegotiatedResponses negotiatedResponses;
 
 
-    @Operation(summary = "Get products")
-    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get products", description = "Keyset paginated: pass the id of the last received product as afterId to get the next page")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ValidationErrorResponse.class
+                    )
+            )
+    )
+    @ApiResponse(responseCode = "304", description = "Not modified")
     @GetMapping
-    public List<ProductResponse> getProducts() {
-        return productService.getAllProducts();
+    public ResponseEntity<List<ProductResponse>> getProducts(@ParameterObject ProductFilterRequest filter, NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        var products = productService.getAllProducts(filter);
+
+        return negotiatedResponses.ok(request, ETags.of(products))
+                .body(products);
+    }
+
+    @Operation(summary = "Search products", description = "Full-text search ordered by relevance; pass the id of the last received product as afterId to get the next page")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error or afterId not matching the search",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ValidationErrorResponse.class
+                    )
+            )
+    )
+    @ApiResponse(responseCode = "304", description = "Not modified")
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponse>> searchProducts(@ParameterObject ProductSearchRequest search, NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        var products = productService.searchProducts(search);
+
+        return negotiatedResponses.ok(request, ETags.of(products))
+                .body(products);
+    }
+
+    @Operation(summary = "Get products by ids", description = "Returns found products in the order of the requested ids and lists the ids without a product")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ValidationErrorResponse.class
+                    )
+            )
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping("/batch-get")
+    public ProductBatchGetResponse getProductsByIds(@RequestBody ProductBatchGetRequest request) {
+        return productService.getProductsByIds(request);
+    }
+
+    @Operation(summary = "Export products", description = "Streams the whole catalogue as newline delimited JSON")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = outputStream -> {
+            try (var writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                productService.exportProducts(products -> {
+                    try {
+                        writer.writeAll(products);
+                        writer.flush();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("products.ndjson").build().toString())
+                .body(body);
     }
 
     @Operation(summary = "Create product")
@@ -60,7 +173,38 @@ public class ProductController {
         return productService.createProduct(productRequest);
     }
 
+    @Operation(summary = "Import products", description = "Imports a JSON array of products; rows failing validation are reported and skipped")
+    @SecurityRequirement(name = "basicScheme")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ProductImportResponse importProducts(InputStream body) throws IOException {
+        try (var rows = objectMapper.readerFor(ProductRequest.class).<ProductRequest>readValues(body)) {
+            return productImportService.importProducts(rows);
+        }
+    }
+
+    @Operation(summary = "Import products from CSV", description = "Imports CSV with a name,description,price,categories header, categories separated by ';'")
+    @SecurityRequirement(name = "basicScheme")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ProductImportResponse importProductsFromCsv(InputStream body) throws IOException {
+        try (var rows = CSV_PRODUCT_READER.<ProductRequest>readValues(body)) {
+            return productImportService.importProducts(rows);
+        }
+    }
+
     @Operation(summary = "Get product")
+    @ApiResponse(
+            responseCode = "200",
+            description = "OK",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ProductResponse.class
+                    )
+            )
+    )
     @ApiResponse(
             responseCode = "404",
             description = "Product not found",
@@ -71,10 +215,29 @@ public class ProductController {
                     )
             )
     )
-    @ResponseStatus(HttpStatus.OK)
-    @GetMapping("/{productId}")
-    public ProductResponse getProduct(@PathVariable Long productId) {
-        return productService.getProductById(productId);
+    @ApiResponse(responseCode = "304", description = "Not modified")
+    @GetMapping(value = "/{productId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<byte[]> getProduct(
+            @PathVariable Long productId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            NativeWebRequest request
+    ) throws HttpMediaTypeNotAcceptableException {
+        var mediaType = negotiatedResponses.negotiate(request);
+        var product = serializedProductService.getProductById(productId, mediaType);
+
+        var response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .lastModified(product.getLastModified())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (product.isCompressible() && SerializedResponse.acceptsGzip(acceptEncoding)) {
+            return response
+                    .eTag(ETags.variant(product.getETag(), SerializedResponse.GZIP_ETAG_SUFFIX))
+                    .header(HttpHeaders.CONTENT_ENCODING, SerializedResponse.GZIP)
+                    .body(product.getGzippedBody());
+        }
+        return response
+                .eTag(product.getETag())
+                .body(product.getBody());
     }
 
     @Operation(summary = "Update product")
@@ -97,12 +260,27 @@ public class ProductController {
                     )
             )
     )
+    @ApiResponse(
+            responseCode = "412",
+            description = "Product has been modified since the version given in If-Match",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ErrorResponse.class,
+                            example = PRODUCT_VERSION_MISMATCH_EXAMPLE
+                    )
+            )
+    )
     @SecurityRequirement(name = "basicScheme")
-    @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{productId}")
-    public ProductResponse updateProduct(@PathVariable Long productId, @RequestBody ProductRequest productRequest) {
-        return productService.updateProduct(productId, productRequest);
+    public ResponseEntity<ProductResponse> updateProduct(@PathVariable Long productId,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestBody ProductRequest productRequest) {
+        var product = productService.updateProduct(productId, productRequest, ETags.parseVersion(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(ETags.of(product))
+                .body(product);
     }
 
     @Operation(summary = "Delete product")
@@ -124,4 +302,22 @@ public class ProductController {
         productService.deleteProductById(productId);
     }
 
+    @Operation(summary = "Delete products", description = "Deletes the products with their reviews and category links and lists the ids without a product")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ValidationErrorResponse.class
+                    )
+            )
+    )
+    @SecurityRequirement(name = "basicScheme")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/batch-delete")
+    public ProductBatchDeleteResponse deleteProducts(@RequestBody ProductBatchDeleteRequest request) {
+        return productService.deleteProducts(request);
+    }
+
 }
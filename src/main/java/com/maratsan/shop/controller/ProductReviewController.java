@@ -1,7 +1,10 @@
 package com.maratsan.shop.controller;
 
+import com.maratsan.shop.request.ReviewFilterRequest;
 import com.maratsan.shop.request.ReviewRequest;
+import com.maratsan.shop.response.ErrorResponse;
 import com.maratsan.shop.response.ReviewResponse;
+import com.maratsan.shop.response.ReviewSummaryResponse;
 import com.maratsan.shop.response.ValidationErrorResponse;
 import com.maratsan.shop.service.ReviewService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,14 +27,58 @@ import java.util.List;
 @RequestMapping("/products/{productId}/reviews")
 public class ProductReviewController {
 
+    private final static String PRODUCT_NOT_FOUND_EXAMPLE = """
+            {
+                "errorCode": "PRODUCT_NOT_FOUND",
+                "description": "Product not found"
+            }
+            """;
+
+
     private final ReviewService reviewService;
 
 
-    @Operation(summary = "Get product reviews")
+    @Operation(summary = "Get product reviews", description = "Keyset paginated: pass the id of the last received review as afterId to get the next page in the same sort order")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ValidationErrorResponse.class
+                    )
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Product not found",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ErrorResponse.class,
+                            example = PRODUCT_NOT_FOUND_EXAMPLE
+                    )
+            )
+    )
     @ResponseStatus(HttpStatus.OK)
     @GetMapping
-    public List<ReviewResponse> getProductReviews(@PathVariable Long productId) {
-        return reviewService.getAllReviewsByProductId(productId);
+    public List<ReviewResponse> getProductReviews(@PathVariable Long productId, @ParameterObject ReviewFilterRequest filter) {
+        return reviewService.getAllReviewsByProductId(productId, filter);
+    }
+
+    @Operation(summary = "Get product review summary", description = "Review count, exact average rating and number of reviews per rating")
+    @ApiResponse(
+            responseCode = "404",
+            description = "Product not found",
+            content = @Content(
+                    schema = @Schema(
+                            implementation = ErrorResponse.class,
+                            example = PRODUCT_NOT_FOUND_EXAMPLE
+                    )
+            )
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping("/summary")
+    public ReviewSummaryResponse getProductReviewSummary(@PathVariable Long productId) {
+        return reviewService.getReviewSummaryByProductId(productId);
     }
 
     @Operation(summary = "Create product review")
@@ -0,0 +1,76 @@
+package com.maratsan.shop.datasource;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+@RequiredArgsConstructor
+public class DelayedEvictionCache implements Cache {
+
+    @Getter
+    private final Cache delegate;
+    private final DelayedEvictions delayedEvictions;
+
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        delayedEvictions.schedule(() -> delegate.evict(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        delayedEvictions.schedule(() -> delegate.evict(key));
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        delayedEvictions.schedule(delegate::clear);
+    }
+
+    @Override
+    public boolean invalidate() {
+        delayedEvictions.schedule(delegate::clear);
+        return delegate.invalidate();
+    }
+
+}
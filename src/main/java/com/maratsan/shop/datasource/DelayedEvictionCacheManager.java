@@ -0,0 +1,33 @@
+package com.maratsan.shop.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+public class DelayedEvictionCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final DelayedEvictions delayedEvictions;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+
+    @Override
+    public Cache getCache(String name) {
+        var cache = delegate.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new DelayedEvictionCache(cache, delayedEvictions));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.maratsan.shop.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Repeats cache evictions once the replicas have caught up with the primary.
+ * <p>
+ * A read routed to a lagging replica between the write and the first eviction can put the old state back into a cache;
+ * evicting again after the lag window drops such entries without pinning reads to the primary.
+ */
+@RequiredArgsConstructor
+public class DelayedEvictions {
+
+    private final TaskScheduler taskScheduler;
+    private final Duration delay;
+
+
+    public void schedule(Runnable eviction) {
+        taskScheduler.schedule(eviction, Instant.now().plus(delay));
+    }
+
+}
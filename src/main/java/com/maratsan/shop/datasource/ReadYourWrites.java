@@ -0,0 +1,78 @@
+package com.maratsan.shop.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+public class ReadYourWrites {
+
+    public static final String COOKIE_NAME = "read-primary-until";
+
+    private static final ThreadLocal<ReadYourWrites> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletResponse response;
+    private final Duration window;
+    private boolean primaryRequired;
+    private boolean writeRecorded;
+
+
+    private ReadYourWrites(HttpServletResponse response, Duration window, boolean primaryRequired) {
+        this.response = response;
+        this.window = window;
+        this.primaryRequired = primaryRequired;
+    }
+
+    public static void start(HttpServletRequest request, HttpServletResponse response, Duration window) {
+        CURRENT.set(new ReadYourWrites(response, window, isWithinWindow(request)));
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static boolean isPrimaryRequired() {
+        var current = CURRENT.get();
+        return current != null && current.primaryRequired;
+    }
+
+    public static void recordWrite() {
+        var current = CURRENT.get();
+        if (current == null || current.writeRecorded) {
+            return;
+        }
+
+        current.primaryRequired = true;
+        current.writeRecorded = true;
+        if (!current.response.isCommitted()) {
+            var cookie = ResponseCookie.from(COOKIE_NAME, String.valueOf(Instant.now().plus(current.window).toEpochMilli()))
+                    .path("/")
+                    .maxAge(current.window)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            current.response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+    }
+
+    private static boolean isWithinWindow(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+
+        return Arrays.stream(request.getCookies())
+                .filter(cookie -> COOKIE_NAME.equals(cookie.getName()))
+                .anyMatch(cookie -> {
+                    try {
+                        return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                    } catch (NumberFormatException ex) {
+                        return false;
+                    }
+                });
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.maratsan.shop.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICATION_LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+                   END
+            """;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Map<String, Duration> replicationLags = new ConcurrentHashMap<>();
+    private final AtomicInteger counter = new AtomicInteger();
+    private volatile List<String> availableReplicas = List.of();
+
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+
+        var targets = new HashMap<Object, Object>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.recordWrite();
+            }
+            return PRIMARY;
+        }
+
+        var available = availableReplicas;
+        if (available.isEmpty() || ReadYourWrites.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        return available.get(Math.floorMod(counter.getAndIncrement(), available.size()));
+    }
+
+    public void checkReplicationLag() {
+        var available = new ArrayList<String>();
+        replicas.forEach((name, replica) -> {
+            var lag = queryReplicationLag(name, replica);
+            lag.ifPresentOrElse(value -> replicationLags.put(name, value), () -> replicationLags.remove(name));
+            if (lag.isPresent() && lag.get().compareTo(maxLag) <= 0) {
+                available.add(name);
+            }
+        });
+
+        if (!available.equals(availableReplicas)) {
+            log.info("Available read replicas changed from {} to {}", availableReplicas, available);
+        }
+        availableReplicas = List.copyOf(available);
+    }
+
+    public Optional<Duration> getReplicationLag(String name) {
+        return Optional.ofNullable(replicationLags.get(name));
+    }
+
+    public List<String> getAvailableReplicas() {
+        return availableReplicas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (var replica : replicas.values()) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Optional<Duration> queryReplicationLag(String name, DataSource replica) {
+        try (var connection = replica.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+            resultSet.next();
+            var lagMillis = resultSet.getLong(1);
+            return resultSet.wasNull() ? Optional.empty() : Optional.of(Duration.ofMillis(lagMillis));
+        } catch (SQLException ex) {
+            log.warn("Replication lag check of read replica {} failed: {}", name, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+}
@@ -2,8 +2,13 @@ package com.maratsan.shop.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.proxy.HibernateProxy;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 
@@ -12,6 +17,8 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
+@BatchSize(size = 100)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Entity
 public class Category {
 
@@ -22,6 +29,14 @@ public class Category {
     @Column(unique = true, nullable = false, length = 64)
     private String name;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+
 
     @ToString.Exclude
     @ManyToMany(mappedBy = "categories")
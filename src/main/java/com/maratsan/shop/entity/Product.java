@@ -2,9 +2,14 @@ package com.maratsan.shop.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 
@@ -17,7 +22,8 @@ import java.util.Objects;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_id_seq")
+    @SequenceGenerator(name = "product_id_seq", sequenceName = "product_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 64)
@@ -29,8 +35,25 @@ public class Product {
     @Column(nullable = false)
     private BigDecimal price;
 
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer reviewCount = 0;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+
+    @ToString.Exclude
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-categories")
+    @ManyToMany
     @JoinTable(
             name = "product_category",
             joinColumns = @JoinColumn(name = "product_id"),
@@ -38,24 +61,21 @@ public class Product {
     )
     private List<Category> categories;
 
-    @OneToMany(
-            cascade = CascadeType.REMOVE,
-            fetch = FetchType.EAGER,
-            mappedBy = "product"
-    )
+    @ToString.Exclude
+    @BatchSize(size = 100)
+    @OneToMany(mappedBy = "product")
     private List<Review> reviews;
 
 
     public Integer getAverageRating() {
-        if (reviews == null || reviews.isEmpty()) {
+        return averageRating(reviewCount, ratingSum);
+    }
+
+    public static Integer averageRating(Integer reviewCount, Long ratingSum) {
+        if (reviewCount == null || reviewCount == 0) {
             return null;
         }
-        return (int) Math.round(
-                reviews.stream()
-                        .mapToInt(review -> review.getRating().getValue())
-                        .average()
-                        .orElse(0)
-        );
+        return (int) Math.round((double) ratingSum / reviewCount);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.maratsan.shop.entity;
 
 import com.maratsan.shop.common.Rating;
+import com.maratsan.shop.common.RatingConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.proxy.HibernateProxy;
@@ -16,14 +17,15 @@ import java.util.Objects;
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_id_seq")
+    @SequenceGenerator(name = "review_id_seq", sequenceName = "review_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String comment;
 
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Convert(converter = RatingConverter.class)
+    @Column(name = "rating_value", nullable = false)
     private Rating rating;
 
     @ToString.Exclude
@@ -0,0 +1,24 @@
+package com.maratsan.shop.exception;
+
+import com.maratsan.shop.common.DefaultErrorCode;
+import org.springframework.http.HttpStatus;
+
+public class PreconditionFailedException extends BusinessException {
+
+    public PreconditionFailedException(String message) {
+        this(message, DefaultErrorCode.PRECONDITION_FAILED);
+    }
+
+    public PreconditionFailedException(String message, Throwable cause) {
+        this(message, DefaultErrorCode.PRECONDITION_FAILED, cause);
+    }
+
+    public PreconditionFailedException(String message, Enum<?> errorCode) {
+        super(message, HttpStatus.PRECONDITION_FAILED, errorCode);
+    }
+
+    public PreconditionFailedException(String message, Enum<?> errorCode, Throwable cause) {
+        super(message, HttpStatus.PRECONDITION_FAILED, errorCode, cause);
+    }
+
+}
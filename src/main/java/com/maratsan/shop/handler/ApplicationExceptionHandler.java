@@ -9,6 +9,7 @@ import com.maratsan.shop.response.ValidationErrorResponse;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -92,6 +93,20 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
         return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        if (errorHandlingConfig.isLoggingEnabled(ErrorHandlingConfig.LoggingLevel.BUSINESS)) {
+            log.error(ex.getMessage(), ex);
+        }
+
+        var errorResponse = new ErrorResponse(
+                DefaultErrorCode.CONFLICT.name(),
+                ex.getMessage()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Throwable.class)
     public ResponseEntity<ErrorResponse> handleThrowable(Throwable ex) {
         if (errorHandlingConfig.isLoggingEnabled(ErrorHandlingConfig.LoggingLevel.SYSTEM)) {
@@ -0,0 +1,27 @@
+package com.maratsan.shop.job;
+
+import com.maratsan.shop.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ProductRatingReconciliationJob {
+
+    private final ProductService productService;
+
+
+    @Scheduled(cron = "${app.jobs.product-rating-reconciliation.cron:0 0 3 * * *}")
+    public void reconcile() {
+        var repaired = productService.reconcileRatings();
+        if (repaired > 0) {
+            log.warn("Repaired rating counters of {} products", repaired);
+        } else {
+            log.info("Rating counters of all products are consistent");
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.maratsan.shop.job;
+
+import com.maratsan.shop.datasource.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.read-replicas.enabled", havingValue = "true")
+@Component
+public class ReplicationLagCheckJob {
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+
+    @Scheduled(fixedDelayString = "${app.read-replicas.lag-check-interval:PT1S}")
+    public void check() {
+        replicaRoutingDataSource.checkReplicationLag();
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.maratsan.shop.mapper;
 
 import com.maratsan.shop.entity.Category;
+import com.maratsan.shop.repository.ProductRepository;
 import com.maratsan.shop.request.CategoryRequest;
 import com.maratsan.shop.response.CategoryResponse;
 import org.mapstruct.Mapper;
@@ -14,6 +15,8 @@ public interface CategoryMapper {
 
     CategoryResponse toResponse(Category category);
 
+    CategoryResponse toResponse(ProductRepository.ProductCategoryView category);
+
     default List<CategoryResponse> toResponse(List<Category> categories) {
         return categories.stream()
                 .map(this::toResponse)
@@ -26,12 +29,8 @@ public interface CategoryMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "products", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Category fromRequest(CategoryRequest categoryRequest, @MappingTarget Category category);
 
-    default Category fromId(Long id) {
-        Category category = new Category();
-        category.setId(id);
-        return category;
-    }
-
 }
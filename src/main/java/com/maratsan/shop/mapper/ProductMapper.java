@@ -1,6 +1,7 @@
 package com.maratsan.shop.mapper;
 
 import com.maratsan.shop.entity.Product;
+import com.maratsan.shop.repository.ProductRepository;
 import com.maratsan.shop.request.ProductRequest;
 import com.maratsan.shop.response.ProductResponse;
 import org.mapstruct.Mapper;
@@ -20,13 +21,20 @@ public interface ProductMapper {
                 .toList();
     }
 
+    ProductResponse toResponse(ProductRepository.ProductView product, List<ProductRepository.ProductCategoryView> categories);
+
 
     default Product fromRequest(ProductRequest productRequest) {
         return fromRequest(productRequest, new Product());
     }
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "categories", ignore = true)
     @Mapping(target = "reviews", ignore = true)
+    @Mapping(target = "reviewCount", ignore = true)
+    @Mapping(target = "ratingSum", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Product fromRequest(ProductRequest productRequest, @MappingTarget Product product);
 
 }
@@ -0,0 +1,40 @@
+package com.maratsan.shop.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SqlMonitoringFilter extends OncePerRequestFilter {
+
+    private final long maxStatements;
+    private final Duration maxTime;
+
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var statistics = SqlStatistics.stop();
+            request.setAttribute(SqlStatistics.REQUEST_ATTRIBUTE, statistics);
+            if (statistics.getStatementCount() > maxStatements || statistics.getElapsedTime().compareTo(maxTime) > 0) {
+                log.warn("{} {} executed {} SQL statements in {} ms",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        statistics.getStatementCount(),
+                        statistics.getElapsedMillis());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.maratsan.shop.monitoring;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class SqlStatistics {
+
+    public static final String REQUEST_ATTRIBUTE = SqlStatistics.class.getName();
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statementCount;
+    private long elapsedMillis;
+
+
+    public static void start() {
+        CURRENT.set(new SqlStatistics());
+    }
+
+    public static SqlStatistics stop() {
+        var statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void record(long statementCount, long elapsedMillis) {
+        this.statementCount += statementCount;
+        this.elapsedMillis += elapsedMillis;
+    }
+
+    public Duration getElapsedTime() {
+        return Duration.ofMillis(elapsedMillis);
+    }
+
+}
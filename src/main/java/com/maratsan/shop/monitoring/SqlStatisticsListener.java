@@ -0,0 +1,23 @@
+package com.maratsan.shop.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+public class SqlStatisticsListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        var statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.record(1, execInfo.getElapsedTime());
+        }
+    }
+
+}
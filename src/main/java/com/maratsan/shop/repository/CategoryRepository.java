@@ -1,10 +1,101 @@
 package com.maratsan.shop.repository;
 
 import com.maratsan.shop.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Category> findAll();
+
     boolean existsByName(String name);
 
+    @Query("select c.id from Category c where c.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    @Query(nativeQuery = true, value = """
+            WITH "assigned" AS (
+                INSERT INTO "product_category" ("product_id", "category_id")
+                SELECT p."id", :categoryId FROM "product" p WHERE p."id" = ANY(CAST(:productIds AS bigint[]))
+                ON CONFLICT DO NOTHING
+                RETURNING "product_id"
+            )
+            UPDATE "product" p
+            SET "version" = p."version" + 1, "updated_at" = now()
+            WHERE p."id" IN (SELECT "product_id" FROM "assigned")
+            RETURNING p."id"
+            """)
+    List<Long> assignProducts(Long categoryId, Long[] productIds);
+
+    @Query(nativeQuery = true, value = """
+            WITH "unassigned" AS (
+                DELETE FROM "product_category"
+                WHERE "category_id" = :categoryId AND "product_id" = ANY(CAST(:productIds AS bigint[]))
+                RETURNING "product_id"
+            )
+            UPDATE "product" p
+            SET "version" = p."version" + 1, "updated_at" = now()
+            WHERE p."id" IN (SELECT "product_id" FROM "unassigned")
+            RETURNING p."id"
+            """)
+    List<Long> unassignProducts(Long categoryId, Long[] productIds);
+
+    @Query(nativeQuery = true, value = """
+            WITH "assigned" AS (
+                INSERT INTO "product_category" ("product_id", "category_id")
+                SELECT pc."product_id", :targetCategoryId FROM "product_category" pc WHERE pc."category_id" = :sourceCategoryId
+                ON CONFLICT DO NOTHING
+            ),
+            "unassigned" AS (
+                DELETE FROM "product_category"
+                WHERE "category_id" = :sourceCategoryId
+                RETURNING "product_id"
+            )
+            UPDATE "product" p
+            SET "version" = p."version" + 1, "updated_at" = now()
+            WHERE p."id" IN (SELECT "product_id" FROM "unassigned")
+            RETURNING p."id"
+            """)
+    List<Long> moveProducts(Long sourceCategoryId, Long targetCategoryId);
+
+    @Query(nativeQuery = true, value = """
+            WITH "unassigned" AS (
+                DELETE FROM "product_category"
+                WHERE "category_id" = :categoryId
+                  AND "product_id" IN (SELECT "product_id" FROM "product_category" WHERE "category_id" = :categoryId LIMIT :limit)
+                RETURNING "product_id"
+            )
+            UPDATE "product" p
+            SET "version" = p."version" + 1, "updated_at" = now()
+            WHERE p."id" IN (SELECT "product_id" FROM "unassigned")
+            RETURNING p."id"
+            """)
+    List<Long> unassignProducts(Long categoryId, int limit);
+
+    @Query(nativeQuery = true, value = """
+            WITH "unassigned" AS (
+                DELETE FROM "product_category"
+                WHERE "category_id" = :categoryId
+                RETURNING "product_id"
+            ),
+            "deleted" AS (
+                DELETE FROM "category"
+                WHERE "id" = :categoryId
+            )
+            UPDATE "product" p
+            SET "version" = p."version" + 1, "updated_at" = now()
+            WHERE p."id" IN (SELECT "product_id" FROM "unassigned")
+            RETURNING p."id"
+            """)
+    List<Long> deleteWithProductLinks(Long categoryId);
+
 }
@@ -1,7 +1,185 @@
 package com.maratsan.shop.repository;
 
 import com.maratsan.shop.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    @Query("""
+            select new com.maratsan.shop.repository.ProductRepository$ProductView(
+                p.id, p.name, p.description, p.price, p.reviewCount, p.ratingSum, p.version, p.updatedAt
+            )
+            from Product p
+            where (:afterId is null or p.id > :afterId)
+              and (:categoryId is null or exists (select c.id from p.categories c where c.id = :categoryId))
+              and (:minPrice is null or p.price >= :minPrice)
+              and (:maxPrice is null or p.price <= :maxPrice)
+              and (:minRating is null or (p.reviewCount > 0 and p.ratingSum >= (:minRating - 0.5) * p.reviewCount))
+            order by p.id
+            """)
+    List<ProductView> findPage(Long afterId, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, Integer minRating, Limit limit);
+
+    @Query(nativeQuery = true, value = """
+            SELECT ts_rank(p."search_vector", q."query")
+            FROM "product" p, websearch_to_tsquery('english', :query) q("query")
+            WHERE p."id" = :id
+              AND p."search_vector" @@ q."query"
+              AND (CAST(:categoryId AS BIGINT) IS NULL OR EXISTS (
+                  SELECT 1 FROM "product_category" pc
+                  WHERE pc."product_id" = p."id" AND pc."category_id" = CAST(:categoryId AS BIGINT)
+              ))
+            """)
+    Optional<Float> findSearchRank(String query, Long id, Long categoryId);
+
+    @Query(nativeQuery = true, value = """
+            SELECT r."id" FROM (
+                SELECT p."id", ts_rank(p."search_vector", q."query") AS "rank"
+                FROM "product" p, websearch_to_tsquery('english', :query) q("query")
+                WHERE p."search_vector" @@ q."query"
+                  AND (CAST(:categoryId AS BIGINT) IS NULL OR EXISTS (
+                      SELECT 1 FROM "product_category" pc
+                      WHERE pc."product_id" = p."id" AND pc."category_id" = CAST(:categoryId AS BIGINT)
+                  ))
+            ) r
+            WHERE CAST(:afterId AS BIGINT) IS NULL
+               OR r."rank" < CAST(:afterRank AS REAL)
+               OR (r."rank" = CAST(:afterRank AS REAL) AND r."id" > CAST(:afterId AS BIGINT))
+            ORDER BY r."rank" DESC, r."id"
+            LIMIT :size
+            """)
+    List<Long> searchPageIds(String query, Float afterRank, Long afterId, Long categoryId, int size);
+
+    @EntityGraph(attributePaths = "categories")
+    List<Product> findAllWithCategoriesByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("""
+            select new com.maratsan.shop.repository.ProductRepository$ProductView(
+                p.id, p.name, p.description, p.price, p.reviewCount, p.ratingSum, p.version, p.updatedAt
+            )
+            from Product p
+            where p.id in :ids
+            order by p.id
+            """)
+    List<ProductView> findViewsByIdIn(Collection<Long> ids);
+
+    @Query("""
+            select new com.maratsan.shop.repository.ProductRepository$ProductCategoryView(p.id, c.id, c.name, c.version, c.updatedAt)
+            from Product p join p.categories c
+            where p.id in :ids
+            """)
+    List<ProductCategoryView> findCategoryViewsByProductIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findWithCategoriesById(Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p.id from Product p order by p.id")
+    Stream<Long> streamAllIds();
+
+    @Modifying
+    @Query("""
+            update Product p
+            set p.reviewCount = p.reviewCount + 1, p.ratingSum = p.ratingSum + :rating, p.version = p.version + 1, p.updatedAt = instant
+            where p.id = :id
+            """)
+    int addRating(Long id, int rating);
+
+    @Modifying
+    @Query("""
+            update Product p
+            set p.reviewCount = p.reviewCount - 1, p.ratingSum = p.ratingSum - :rating, p.version = p.version + 1, p.updatedAt = instant
+            where p.id = :id
+            """)
+    int removeRating(Long id, int rating);
+
+    @Modifying
+    @Query("""
+            update Product p
+            set p.version = p.version + 1, p.updatedAt = instant
+            where p.id in (select cp.id from Category c join c.products cp where c.id = :categoryId)
+            """)
+    int touchAllByCategoryId(Long categoryId);
+
+    @Query(nativeQuery = true, value = """
+            WITH "reviews" AS (
+                DELETE FROM "review" WHERE "product_id" IN (:ids)
+            ),
+            "categories" AS (
+                DELETE FROM "product_category" WHERE "product_id" IN (:ids)
+            )
+            DELETE FROM "product"
+            WHERE "id" IN (:ids)
+            RETURNING "id"
+            """)
+    List<Long> deleteAllWithAssociationsByIdIn(Collection<Long> ids);
+
+    @Query(nativeQuery = true, value = """
+            SELECT p."id" FROM "product" p
+            WHERE p."id" > :afterId
+            ORDER BY p."id"
+            LIMIT :limit
+            FOR UPDATE
+            """)
+    List<Long> lockIdsAfter(long afterId, int limit);
+
+    @Query(nativeQuery = true, value = """
+            WITH "actual" AS (
+                SELECT p."id",
+                       COUNT(r."id") AS "review_count",
+                       COALESCE(SUM(r."rating_value"), 0) AS "rating_sum"
+                FROM "product" p
+                LEFT JOIN "review" r ON r."product_id" = p."id"
+                WHERE p."id" BETWEEN :fromId AND :toId
+                GROUP BY p."id"
+            )
+            UPDATE "product" p
+            SET "review_count" = a."review_count",
+                "rating_sum"   = a."rating_sum",
+                "version"      = p."version" + 1,
+                "updated_at"   = now()
+            FROM "actual" a
+            WHERE p."id" = a."id"
+              AND (p."review_count" <> a."review_count" OR p."rating_sum" <> a."rating_sum")
+            RETURNING p."id"
+            """)
+    List<Long> reconcileRatings(long fromId, long toId);
+
+
+    record ProductView(
+            Long id,
+            String name,
+            String description,
+            BigDecimal price,
+            Integer reviewCount,
+            Long ratingSum,
+            Long version,
+            Instant updatedAt
+    ) {
+
+        public Integer getAverageRating() {
+            return Product.averageRating(reviewCount, ratingSum);
+        }
+
+    }
+
+    record ProductCategoryView(Long productId, Long id, String name, Long version, Instant updatedAt) {
+    }
+
 }
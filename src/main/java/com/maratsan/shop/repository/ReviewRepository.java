@@ -1,13 +1,65 @@
 package com.maratsan.shop.repository;
 
-import com.maratsan.shop.entity.Product;
+import com.maratsan.shop.common.Rating;
 import com.maratsan.shop.entity.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    List<Review> findAllByProduct(Product product);
+    @Query("""
+            select r from Review r
+            where r.product.id = :productId
+              and (:afterId is null or r.id > :afterId)
+            order by r.id
+            """)
+    List<Review> findOldestByProductId(Long productId, Long afterId, Limit limit);
+
+    @Query("""
+            select r from Review r
+            where r.product.id = :productId
+              and (:afterId is null or r.id < :afterId)
+            order by r.id desc
+            """)
+    List<Review> findNewestByProductId(Long productId, Long afterId, Limit limit);
+
+    @Query("""
+            select r from Review r
+            where r.product.id = :productId
+              and (:afterRating is null
+                   or r.rating < :afterRating
+                   or (r.rating = :afterRating and r.id < :afterId))
+            order by r.rating desc, r.id desc
+            """)
+    List<Review> findHighestRatedByProductId(Long productId, Rating afterRating, Long afterId, Limit limit);
+
+    @Query("""
+            select r from Review r
+            where r.product.id = :productId
+              and (:afterRating is null
+                   or r.rating > :afterRating
+                   or (r.rating = :afterRating and r.id < :afterId))
+            order by r.rating, r.id desc
+            """)
+    List<Review> findLowestRatedByProductId(Long productId, Rating afterRating, Long afterId, Limit limit);
+
+    @Query("select r.rating from Review r where r.id = :id and r.product.id = :productId")
+    Optional<Rating> findRatingByIdAndProductId(Long id, Long productId);
+
+    @Query("select r.rating as rating, count(r) as count from Review r where r.product.id = :productId group by r.rating")
+    List<RatingCount> countRatingsByProductId(Long productId);
+
+
+    interface RatingCount {
+
+        Rating getRating();
+
+        Long getCount();
+
+    }
 
 }
@@ -0,0 +1,26 @@
+package com.maratsan.shop.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Request object for product batch get")
+public class ProductBatchGetRequest {
+
+    @Schema(description = "Identifiers of the products, returned in this order", example = "[3, 1, 2]")
+    @NotEmpty
+    @Size(max = 100)
+    private List<@NotNull @Min(1) Long> ids;
+
+}
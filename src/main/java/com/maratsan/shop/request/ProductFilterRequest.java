@@ -0,0 +1,47 @@
+package com.maratsan.shop.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Request object for product filter")
+public class ProductFilterRequest {
+
+    @Schema(description = "Cursor: return only products with id greater than this one", example = "20")
+    @Min(1)
+    private Long afterId;
+
+    @Schema(description = "Maximum number of products to return", example = "20")
+    @NotNull
+    @Min(1)
+    @Max(100)
+    private Integer size = 20;
+
+    @Schema(description = "Return only products of this category", example = "1")
+    @Min(1)
+    private Long categoryId;
+
+    @Schema(description = "Minimum price of the product", example = "100.00")
+    @Min(0)
+    private BigDecimal minPrice;
+
+    @Schema(description = "Maximum price of the product", example = "999.99")
+    @Min(0)
+    private BigDecimal maxPrice;
+
+    @Schema(description = "Minimum average rating of the product", example = "3")
+    @Min(1)
+    @Max(4)
+    private Integer minRating;
+
+}
@@ -34,6 +34,6 @@ public class ProductRequest {
 
     @Schema(description = "List of categories of the product", example = "[1, 2]")
     @NotNull
-    private List<Long> categories;
+    private List<@NotNull @Min(1) Long> categories;
 
 }
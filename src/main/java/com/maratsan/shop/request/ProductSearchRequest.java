@@ -0,0 +1,35 @@
+package com.maratsan.shop.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Request object for product search")
+public class ProductSearchRequest {
+
+    @Schema(description = "Search query, supports quoted phrases, OR and -exclusion", example = "wireless headphones")
+    @NotBlank
+    @Size(max = 256)
+    private String q;
+
+    @Schema(description = "Cursor: return only products ranked after the product with this id, which must match the same search", example = "20")
+    @Min(1)
+    private Long afterId;
+
+    @Schema(description = "Maximum number of products to return", example = "20")
+    @NotNull
+    @Min(1)
+    @Max(100)
+    private Integer size = 20;
+
+    @Schema(description = "Return only products of this category", example = "1")
+    @Min(1)
+    private Long categoryId;
+
+}
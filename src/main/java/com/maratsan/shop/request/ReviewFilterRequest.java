@@ -0,0 +1,40 @@
+package com.maratsan.shop.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Request object for review filter")
+public class ReviewFilterRequest {
+
+    @Schema(description = "Cursor: return only reviews after the review with this id in the chosen order", example = "20")
+    @Min(1)
+    private Long afterId;
+
+    @Schema(description = "Maximum number of reviews to return", example = "20")
+    @NotNull
+    @Min(1)
+    @Max(100)
+    private Integer size = 20;
+
+    @Schema(description = "Order of the reviews", example = "NEWEST")
+    @NotNull
+    private Sort sort = Sort.OLDEST;
+
+
+    public enum Sort {
+        OLDEST,
+        NEWEST,
+        HIGHEST_RATED,
+        LOWEST_RATED
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.maratsan.shop.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Response object for category assignment")
+public class CategoryAssignmentResponse {
+
+    @Schema(description = "Number of products whose categories changed", example = "3")
+    private Integer affectedProducts;
+
+}
@@ -1,8 +1,11 @@
 package com.maratsan.shop.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
+import java.time.Instant;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -10,7 +13,7 @@ import lombok.*;
 @ToString
 @EqualsAndHashCode
 @Schema(description = "Response object for category")
-public class CategoryResponse {
+public class CategoryResponse implements VersionedResponse {
 
     @Schema(description = "Unique identifier of the category", example = "1")
     private Long id;
@@ -18,4 +21,10 @@ public class CategoryResponse {
     @Schema(description = "Name of the category", example = "Electronics")
     private String name;
 
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant updatedAt;
+
 }
@@ -0,0 +1,23 @@
+package com.maratsan.shop.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Response object for product batch delete")
+public class ProductBatchDeleteResponse {
+
+    @Schema(description = "Identifiers of the deleted products", example = "[1, 2]")
+    private List<Long> deletedIds;
+
+    @Schema(description = "Requested ids without a product", example = "[3]")
+    private List<Long> missingIds;
+
+}
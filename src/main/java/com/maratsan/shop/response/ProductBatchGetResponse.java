@@ -0,0 +1,23 @@
+package com.maratsan.shop.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Response object for product batch get")
+public class ProductBatchGetResponse {
+
+    @Schema(description = "Found products in the order of the requested ids")
+    private List<ProductResponse> products;
+
+    @Schema(description = "Requested ids without a product", example = "[4]")
+    private List<Long> missingIds;
+
+}
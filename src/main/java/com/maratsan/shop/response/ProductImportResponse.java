@@ -0,0 +1,50 @@
+package com.maratsan.shop.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Response object for product import")
+public class ProductImportResponse {
+
+    @Schema(description = "Number of imported products", example = "998")
+    private Integer imported;
+
+    @Schema(description = "Number of rejected rows", example = "2")
+    private Integer rejected;
+
+    @Schema(description = "Errors of the rejected rows")
+    private List<RowError> errors;
+
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @ToString
+    @EqualsAndHashCode
+    @Schema(description = "Response object for rejected import row")
+    public static class RowError {
+
+        @Schema(description = "Row number, starting from 1", example = "3")
+        private Integer row;
+
+        @Schema(description = "Error code", example = "VALIDATION_ERROR")
+        private String errorCode;
+
+        @Schema(description = "Error message", example = "price must be greater than or equal to 0")
+        private String description;
+
+        @Schema(description = "Violations")
+        private List<ValidationErrorResponse.Violation> violations;
+
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.maratsan.shop.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 @Getter
@@ -13,7 +15,7 @@ import java.util.List;
 @ToString
 @EqualsAndHashCode
 @Schema(description = "Response object for product")
-public class ProductResponse {
+public class ProductResponse implements VersionedResponse {
 
     @Schema(description = "Unique identifier of the product", example = "1")
     private Long id;
@@ -33,4 +35,10 @@ public class ProductResponse {
     @Schema(description = "Average rating of the product", example = "4")
     private Integer averageRating;
 
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant updatedAt;
+
 }
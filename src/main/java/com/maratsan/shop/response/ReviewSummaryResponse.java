@@ -0,0 +1,27 @@
+package com.maratsan.shop.response;
+
+import com.maratsan.shop.common.Rating;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Response object for review summary")
+public class ReviewSummaryResponse {
+
+    @Schema(description = "Number of reviews of the product", example = "3")
+    private Long count;
+
+    @Schema(description = "Exact average rating of the product", example = "2.6666666666666665")
+    private Double averageRating;
+
+    @Schema(description = "Number of reviews per rating", example = "{\"BAD\": 1, \"AVERAGE\": 0, \"GOOD\": 1, \"EXCELLENT\": 1}")
+    private Map<Rating, Long> histogram;
+
+}
@@ -0,0 +1,13 @@
+package com.maratsan.shop.response;
+
+import java.time.Instant;
+
+public interface VersionedResponse {
+
+    Long getId();
+
+    Long getVersion();
+
+    Instant getUpdatedAt();
+
+}
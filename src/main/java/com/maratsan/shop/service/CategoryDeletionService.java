@@ -0,0 +1,72 @@
+package com.maratsan.shop.service;
+
+import com.maratsan.shop.config.CacheConfig;
+import com.maratsan.shop.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CategoryDeletionService {
+
+    private final CategoryRepository categoryRepository;
+    private final CacheManager cacheManager;
+    private final SecondLevelCacheService secondLevelCacheService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.category-deletion.chunk-size:1000}")
+    private int chunkSize;
+
+
+    public void deleteCategory(Long id) {
+        transactionTemplate.executeWithoutResult(status -> delete(id));
+    }
+
+    @Async
+    public void deleteCategoryInChunks(Long id) {
+        try {
+            var unassigned = 0;
+            List<Long> productIds;
+            do {
+                productIds = transactionTemplate.execute(status -> {
+                    var chunk = categoryRepository.unassignProducts(id, chunkSize);
+                    evictProducts(chunk);
+                    return chunk;
+                });
+                unassigned += productIds.size();
+            } while (!productIds.isEmpty());
+
+            deleteCategory(id);
+            log.info("Category {} deleted, {} products unassigned", id, unassigned);
+        } catch (RuntimeException ex) {
+            log.error("Category {} deletion failed: {}", id, ex.getMessage(), ex);
+        }
+    }
+
+    private void delete(Long id) {
+        evictProducts(categoryRepository.deleteWithProductLinks(id));
+
+        var cache = cacheManager.getCache(CacheConfig.CATEGORIES);
+        if (cache != null) {
+            cache.evict(id);
+        }
+        secondLevelCacheService.evictCategory(id);
+    }
+
+    private void evictProducts(List<Long> productIds) {
+        var cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (cache != null) {
+            productIds.forEach(cache::evict);
+        }
+        secondLevelCacheService.evictProductCategories(productIds);
+    }
+
+}
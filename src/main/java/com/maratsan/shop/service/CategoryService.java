@@ -1,16 +1,24 @@
 package com.maratsan.shop.service;
 
+import com.maratsan.shop.config.CacheConfig;
 import com.maratsan.shop.exception.BusinessException;
 import com.maratsan.shop.exception.NotFoundException;
+import com.maratsan.shop.exception.PreconditionFailedException;
 import com.maratsan.shop.mapper.CategoryMapper;
 import com.maratsan.shop.repository.CategoryRepository;
+import com.maratsan.shop.request.CategoryAssignmentRequest;
 import com.maratsan.shop.request.CategoryRequest;
+import com.maratsan.shop.response.CategoryAssignmentResponse;
 import com.maratsan.shop.response.CategoryResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -24,14 +32,21 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ProductService productService;
+    private final CategoryDeletionService categoryDeletionService;
+    private final CacheManager cacheManager;
+    private final SecondLevelCacheService secondLevelCacheService;
 
 
+    @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories() {
         var categories = categoryRepository.findAll();
 
         return categoryMapper.toResponse(categories);
     }
 
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(@NotNull @Min(1) Long id) {
         var category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND.description, ErrorCode.CATEGORY_NOT_FOUND));
@@ -53,36 +68,101 @@ public class CategoryService {
         return categoryMapper.toResponse(category);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
+    })
     @Transactional
-    public CategoryResponse updateCategory(@NotNull @Min(1) Long id, @NotNull @Valid CategoryRequest categoryRequest) {
+    public CategoryResponse updateCategory(@NotNull @Min(1) Long id, @NotNull @Valid CategoryRequest categoryRequest, Long expectedVersion) {
         var category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND.description, ErrorCode.CATEGORY_NOT_FOUND));
 
+        if (expectedVersion != null && !expectedVersion.equals(category.getVersion())) {
+            throw new PreconditionFailedException(ErrorCode.CATEGORY_VERSION_MISMATCH.description, ErrorCode.CATEGORY_VERSION_MISMATCH);
+        }
+
         if (!categoryRequest.getName().equals(category.getName())) {
             var exists = categoryRepository.existsByName(categoryRequest.getName());
             if (exists) {
                 throw new BusinessException(ErrorCode.CATEGORY_NAME_ALREADY_EXISTS.description, ErrorCode.CATEGORY_NAME_ALREADY_EXISTS);
             }
+            productService.touchAllByCategoryId(id);
         }
 
         category = categoryMapper.fromRequest(categoryRequest, category);
+        categoryRepository.flush();
 
         return categoryMapper.toResponse(category);
     }
 
+    public void deleteCategoryById(@NotNull @Min(1) Long id, boolean async) {
+        checkExistsById(id);
+
+        if (async) {
+            categoryDeletionService.deleteCategoryInChunks(id);
+        } else {
+            categoryDeletionService.deleteCategory(id);
+        }
+    }
+
+    @Transactional
+    public CategoryAssignmentResponse assignProducts(@NotNull @Min(1) Long id, @NotNull @Valid CategoryAssignmentRequest request) {
+        checkExistsById(id);
+
+        var productIds = categoryRepository.assignProducts(id, request.getProductIds().toArray(Long[]::new));
+        evictProducts(productIds);
+
+        return new CategoryAssignmentResponse(productIds.size());
+    }
+
     @Transactional
-    public void deleteCategoryById(@NotNull @Min(1) Long id) {
-        categoryRepository.findById(id)
-                .ifPresentOrElse(categoryRepository::delete, () -> {
-                    throw new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND.description, ErrorCode.CATEGORY_NOT_FOUND);
-                });
+    public CategoryAssignmentResponse unassignProducts(@NotNull @Min(1) Long id, @NotNull @Valid CategoryAssignmentRequest request) {
+        checkExistsById(id);
+
+        var productIds = categoryRepository.unassignProducts(id, request.getProductIds().toArray(Long[]::new));
+        evictProducts(productIds);
+
+        return new CategoryAssignmentResponse(productIds.size());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id")
+    @Transactional
+    public CategoryAssignmentResponse mergeCategory(@NotNull @Min(1) Long id, @NotNull @Min(1) Long targetId) {
+        if (id.equals(targetId)) {
+            throw new BusinessException(ErrorCode.CATEGORY_MERGE_INTO_ITSELF.description, ErrorCode.CATEGORY_MERGE_INTO_ITSELF);
+        }
+        checkExistsById(targetId);
+        var category = categoryRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND.description, ErrorCode.CATEGORY_NOT_FOUND));
+
+        var productIds = categoryRepository.moveProducts(id, targetId);
+        evictProducts(productIds);
+        categoryRepository.delete(category);
+
+        return new CategoryAssignmentResponse(productIds.size());
+    }
+
+    private void checkExistsById(Long id) {
+        if (!categoryRepository.existsById(id)) {
+            throw new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND.description, ErrorCode.CATEGORY_NOT_FOUND);
+        }
+    }
+
+    private void evictProducts(List<Long> productIds) {
+        var cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (cache != null) {
+            productIds.forEach(cache::evict);
+        }
+        secondLevelCacheService.evictProductCategories(productIds);
     }
 
     @Getter
     @RequiredArgsConstructor
     public enum ErrorCode {
         CATEGORY_NOT_FOUND("Category not found"),
-        CATEGORY_NAME_ALREADY_EXISTS("Category with this name already exists");
+        CATEGORY_NAME_ALREADY_EXISTS("Category with this name already exists"),
+        CATEGORY_VERSION_MISMATCH("Category has been modified since the given version"),
+        CATEGORY_MERGE_INTO_ITSELF("Category cannot be merged into itself");
 
         private final String description;
 
@@ -0,0 +1,146 @@
+package com.maratsan.shop.service;
+
+import com.maratsan.shop.common.DefaultErrorCode;
+import com.maratsan.shop.mapper.ProductMapper;
+import com.maratsan.shop.repository.CategoryRepository;
+import com.maratsan.shop.repository.ProductRepository;
+import com.maratsan.shop.request.ProductRequest;
+import com.maratsan.shop.response.ProductImportResponse;
+import com.maratsan.shop.response.ValidationErrorResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Validated
+@Service
+public class ProductImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String INVALID_ROW = "Row is not a valid product";
+    private static final String IMPORT_FAILED = "Row could not be imported";
+
+    private final EntityManager entityManager;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductMapper productMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+
+    public ProductImportResponse importProducts(@NotNull Iterator<ProductRequest> rows) {
+        var errors = new ArrayList<ProductImportResponse.RowError>();
+        var chunk = new LinkedHashMap<Integer, ProductRequest>();
+        var imported = 0;
+        var rowNumber = 0;
+
+        while (true) {
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+            } catch (RuntimeException ex) {
+                log.debug(ex.getMessage(), ex);
+                errors.add(rowError(rowNumber + 1, DefaultErrorCode.BAD_REQUEST, INVALID_ROW));
+                break;
+            }
+            rowNumber++;
+
+            ProductRequest productRequest;
+            try {
+                productRequest = rows.next();
+            } catch (RuntimeException ex) {
+                log.debug(ex.getMessage(), ex);
+                errors.add(rowError(rowNumber, DefaultErrorCode.BAD_REQUEST, INVALID_ROW));
+                continue;
+            }
+            if (productRequest == null) {
+                errors.add(rowError(rowNumber, DefaultErrorCode.BAD_REQUEST, INVALID_ROW));
+                continue;
+            }
+
+            var violations = validator.validate(productRequest);
+            if (!violations.isEmpty()) {
+                var rowViolations = violations.stream()
+                        .map(violation ->
+                                new ValidationErrorResponse.Violation(
+                                        violation.getPropertyPath().toString(),
+                                        violation.getMessage()
+                                )
+                        ).toList();
+                errors.add(new ProductImportResponse.RowError(rowNumber, DefaultErrorCode.VALIDATION_ERROR.name(), "Validation error", rowViolations));
+                continue;
+            }
+
+            chunk.put(rowNumber, productRequest);
+            if (chunk.size() == CHUNK_SIZE) {
+                imported += importChunk(chunk, errors);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += importChunk(chunk, errors);
+        }
+
+        return new ProductImportResponse(imported, errors.size(), errors);
+    }
+
+    private int importChunk(Map<Integer, ProductRequest> chunk, List<ProductImportResponse.RowError> errors) {
+        var categoryIds = chunk.values().stream()
+                .flatMap(productRequest -> productRequest.getCategories().stream())
+                .collect(Collectors.toSet());
+        var existingCategoryIds = categoryIds.isEmpty() ? Set.<Long>of() : categoryRepository.findExistingIds(categoryIds);
+
+        var accepted = new LinkedHashMap<Integer, ProductRequest>();
+        chunk.forEach((rowNumber, productRequest) -> {
+            if (existingCategoryIds.containsAll(productRequest.getCategories())) {
+                accepted.put(rowNumber, productRequest);
+            } else {
+                var errorCode = CategoryService.ErrorCode.CATEGORY_NOT_FOUND;
+                errors.add(rowError(rowNumber, errorCode, errorCode.getDescription()));
+            }
+        });
+        chunk.clear();
+
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                accepted.values().forEach(productRequest -> {
+                    var product = productMapper.fromRequest(productRequest);
+                    product.setCategories(
+                            productRequest.getCategories().stream()
+                                    .distinct()
+                                    .map(categoryRepository::getReferenceById)
+                                    .collect(Collectors.toCollection(ArrayList::new))
+                    );
+                    productRepository.save(product);
+                });
+
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException ex) {
+            log.error(ex.getMessage(), ex);
+            accepted.keySet().forEach(rowNumber -> errors.add(rowError(rowNumber, DefaultErrorCode.INTERNAL_SERVER_ERROR, IMPORT_FAILED)));
+            return 0;
+        }
+
+        return accepted.size();
+    }
+
+    private ProductImportResponse.RowError rowError(int rowNumber, Enum<?> errorCode, String description) {
+        return new ProductImportResponse.RowError(rowNumber, errorCode.name(), description, List.of());
+    }
+
+}
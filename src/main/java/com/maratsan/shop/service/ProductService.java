@@ -1,80 +1,332 @@
 package com.maratsan.shop.service;
 
+import com.maratsan.shop.common.Rating;
+import com.maratsan.shop.config.CacheConfig;
+import com.maratsan.shop.entity.Category;
 import com.maratsan.shop.entity.Product;
+import com.maratsan.shop.exception.BusinessException;
 import com.maratsan.shop.exception.NotFoundException;
+import com.maratsan.shop.exception.PreconditionFailedException;
 import com.maratsan.shop.mapper.ProductMapper;
+import com.maratsan.shop.repository.CategoryRepository;
 import com.maratsan.shop.repository.ProductRepository;
+import com.maratsan.shop.repository.ProductRepository.ProductCategoryView;
+import com.maratsan.shop.repository.ProductRepository.ProductView;
+import com.maratsan.shop.request.ProductBatchDeleteRequest;
+import com.maratsan.shop.request.ProductBatchGetRequest;
+import com.maratsan.shop.request.ProductFilterRequest;
 import com.maratsan.shop.request.ProductRequest;
+import com.maratsan.shop.request.ProductSearchRequest;
+import com.maratsan.shop.response.ProductBatchDeleteResponse;
+import com.maratsan.shop.response.ProductBatchGetResponse;
 import com.maratsan.shop.response.ProductResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Validated
 @Service
 public class ProductService {
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final CacheManager cacheManager;
+    private final SecondLevelCacheService secondLevelCacheService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.jobs.product-rating-reconciliation.batch-size:1000}")
+    private int reconciliationBatchSize;
+
+
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getAllProducts(@NotNull @Valid ProductFilterRequest filter) {
+        var products = productRepository.findPage(
+                filter.getAfterId(),
+                filter.getCategoryId(),
+                filter.getMinPrice(),
+                filter.getMaxPrice(),
+                filter.getMinRating(),
+                Limit.of(filter.getSize())
+        );
+
+        return toResponse(products);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductResponse> searchProducts(@NotNull @Valid ProductSearchRequest search) {
+        Float afterRank = null;
+        if (search.getAfterId() != null) {
+            afterRank = productRepository.findSearchRank(search.getQ(), search.getAfterId(), search.getCategoryId())
+                    .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_SEARCH_CURSOR.description, ErrorCode.INVALID_SEARCH_CURSOR));
+        }
+
+        var ids = productRepository.searchPageIds(
+                search.getQ(),
+                afterRank,
+                search.getAfterId(),
+                search.getCategoryId(),
+                search.getSize()
+        );
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var productsById = productRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductView::id, Function.identity()));
+        var products = ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return toResponse(products);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportProducts(@NotNull Consumer<List<ProductResponse>> chunkConsumer) {
+        try (var ids = productRepository.streamAllIds()) {
+            var chunk = new ArrayList<Long>(EXPORT_CHUNK_SIZE);
+            ids.forEach(id -> {
+                chunk.add(id);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exportChunk(chunk, chunkConsumer);
+                }
+            });
+            if (!chunk.isEmpty()) {
+                exportChunk(chunk, chunkConsumer);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ProductBatchGetResponse getProductsByIds(@NotNull @Valid ProductBatchGetRequest request) {
+        var ids = new LinkedHashSet<>(request.getIds());
+        var cache = cacheManager.getCache(CacheConfig.PRODUCTS);
 
+        var productsById = new HashMap<Long, ProductResponse>();
+        var missedIds = new ArrayList<Long>();
+        ids.forEach(id -> {
+            var cached = cache == null ? null : cache.get(id, ProductResponse.class);
+            if (cached != null) {
+                productsById.put(id, cached);
+            } else {
+                missedIds.add(id);
+            }
+        });
 
-    public List<ProductResponse> getAllProducts() {
-        var products = productRepository.findAll();
+        if (!missedIds.isEmpty()) {
+            productMapper.toResponse(productRepository.findAllWithCategoriesByIdInOrderByIdAsc(missedIds))
+                    .forEach(product -> {
+                        productsById.put(product.getId(), product);
+                        if (cache != null) {
+                            cache.put(product.getId(), product);
+                        }
+                    });
+        }
 
-        return productMapper.toResponse(products);
+        var products = ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        var missingIds = ids.stream()
+                .filter(id -> !productsById.containsKey(id))
+                .toList();
+
+        return new ProductBatchGetResponse(products, missingIds);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional(readOnly = true)
     public ProductResponse getProductById(@NotNull @Min(1) Long id) {
-        var product = productRepository.findById(id)
+        var product = productRepository.findWithCategoriesById(id)
                 .orElseThrow(() -> new NotFoundException(ErrorCode.PRODUCT_NOT_FOUND.description, ErrorCode.PRODUCT_NOT_FOUND));
 
         return productMapper.toResponse(product);
     }
 
-    public Product getById(@NotNull @Min(1) Long id) {
-        return productRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(ErrorCode.PRODUCT_NOT_FOUND.description, ErrorCode.PRODUCT_NOT_FOUND));
+    @Transactional(readOnly = true)
+    public void checkExistsById(@NotNull @Min(1) Long id) {
+        if (!productRepository.existsById(id)) {
+            throw new NotFoundException(ErrorCode.PRODUCT_NOT_FOUND.description, ErrorCode.PRODUCT_NOT_FOUND);
+        }
+    }
+
+    public Product getReferenceById(@NotNull @Min(1) Long id) {
+        return productRepository.getReferenceById(id);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional
+    public void addRating(@NotNull @Min(1) Long id, @NotNull Rating rating) {
+        var updated = productRepository.addRating(id, rating.getValue());
+        if (updated == 0) {
+            throw new NotFoundException(ErrorCode.PRODUCT_NOT_FOUND.description, ErrorCode.PRODUCT_NOT_FOUND);
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional
+    public void removeRating(@NotNull @Min(1) Long id, @NotNull Rating rating) {
+        var updated = productRepository.removeRating(id, rating.getValue());
+        if (updated == 0) {
+            throw new NotFoundException(ErrorCode.PRODUCT_NOT_FOUND.description, ErrorCode.PRODUCT_NOT_FOUND);
+        }
+    }
+
+    @Transactional
+    public int touchAllByCategoryId(@NotNull @Min(1) Long categoryId) {
+        return productRepository.touchAllByCategoryId(categoryId);
+    }
+
+    public int reconcileRatings() {
+        var repaired = 0;
+        var afterId = 0L;
+        while (true) {
+            var lastId = afterId;
+            var batch = transactionTemplate.execute(status -> reconcileRatingsAfter(lastId));
+            if (batch == null) {
+                return repaired;
+            }
+            repaired += batch.repaired();
+            afterId = batch.lastId();
+        }
     }
 
     @Transactional
     public ProductResponse createProduct(@NotNull @Valid ProductRequest productRequest) {
         var product = productMapper.fromRequest(productRequest);
+        product.setCategories(getCategoryReferences(productRequest.getCategories()));
 
         product = productRepository.save(product);
 
         return productMapper.toResponse(product);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional
-    public ProductResponse updateProduct(@NotNull @Min(1) Long id, @NotNull @Valid ProductRequest productRequest) {
+    public ProductResponse updateProduct(@NotNull @Min(1) Long id, @NotNull @Valid ProductRequest productRequest, Long expectedVersion) {
         var product = productRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(ErrorCode.PRODUCT_NOT_FOUND.description, ErrorCode.PRODUCT_NOT_FOUND));
 
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException(ErrorCode.PRODUCT_VERSION_MISMATCH.description, ErrorCode.PRODUCT_VERSION_MISMATCH);
+        }
+
         product = productMapper.fromRequest(productRequest, product);
+        product.setCategories(getCategoryReferences(productRequest.getCategories()));
+        productRepository.flush();
 
         return productMapper.toResponse(product);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional
     public void deleteProductById(@NotNull @Min(1) Long id) {
-        productRepository.findById(id)
-                .ifPresentOrElse(productRepository::delete, () -> {
-                    throw new NotFoundException(ErrorCode.PRODUCT_NOT_FOUND.description, ErrorCode.PRODUCT_NOT_FOUND);
-                });
+        var deletedIds = productRepository.deleteAllWithAssociationsByIdIn(List.of(id));
+        if (deletedIds.isEmpty()) {
+            throw new NotFoundException(ErrorCode.PRODUCT_NOT_FOUND.description, ErrorCode.PRODUCT_NOT_FOUND);
+        }
+        secondLevelCacheService.evictProductCategories(deletedIds);
+    }
+
+    @Transactional
+    public ProductBatchDeleteResponse deleteProducts(@NotNull @Valid ProductBatchDeleteRequest request) {
+        var ids = new LinkedHashSet<>(request.getIds());
+        var deletedIds = new HashSet<>(productRepository.deleteAllWithAssociationsByIdIn(ids));
+
+        evictProducts(deletedIds);
+        secondLevelCacheService.evictProductCategories(deletedIds);
+
+        var deleted = ids.stream()
+                .filter(deletedIds::contains)
+                .toList();
+        var missingIds = ids.stream()
+                .filter(id -> !deletedIds.contains(id))
+                .toList();
+
+        return new ProductBatchDeleteResponse(deleted, missingIds);
+    }
+
+    private ReconciliationBatch reconcileRatingsAfter(long afterId) {
+        var ids = productRepository.lockIdsAfter(afterId, reconciliationBatchSize);
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        var lastId = ids.get(ids.size() - 1);
+        var repairedIds = productRepository.reconcileRatings(ids.get(0), lastId);
+        evictProducts(repairedIds);
+
+        return new ReconciliationBatch(lastId, repairedIds.size());
+    }
+
+    private void evictProducts(Collection<Long> ids) {
+        var cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private void exportChunk(List<Long> ids, Consumer<List<ProductResponse>> chunkConsumer) {
+        chunkConsumer.accept(toResponse(productRepository.findViewsByIdIn(ids)));
+        ids.clear();
+    }
+
+    private List<ProductResponse> toResponse(List<ProductView> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        var ids = products.stream()
+                .map(ProductView::id)
+                .toList();
+        var categoriesByProductId = productRepository.findCategoryViewsByProductIdIn(ids).stream()
+                .collect(Collectors.groupingBy(ProductCategoryView::productId));
+
+        return products.stream()
+                .map(product -> productMapper.toResponse(product, categoriesByProductId.getOrDefault(product.id(), List.of())))
+                .toList();
+    }
+
+    private List<Category> getCategoryReferences(List<Long> categoryIds) {
+        return categoryIds.stream()
+                .map(categoryRepository::getReferenceById)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private record ReconciliationBatch(long lastId, int repaired) {
     }
 
     @Getter
     @RequiredArgsConstructor
     public enum ErrorCode {
-        PRODUCT_NOT_FOUND("Product not found");
+        PRODUCT_NOT_FOUND("Product not found"),
+        PRODUCT_VERSION_MISMATCH("Product has been modified since the given version"),
+        INVALID_SEARCH_CURSOR("Search cursor does not point to a product matching the search");
 
         private final String description;
 
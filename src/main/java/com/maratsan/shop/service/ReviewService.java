@@ -1,19 +1,25 @@
 package com.maratsan.shop.service;
 
+import com.maratsan.shop.common.Rating;
 import com.maratsan.shop.exception.NotFoundException;
 import com.maratsan.shop.mapper.ReviewMapper;
 import com.maratsan.shop.repository.ReviewRepository;
+import com.maratsan.shop.request.ReviewFilterRequest;
 import com.maratsan.shop.request.ReviewRequest;
 import com.maratsan.shop.response.ReviewResponse;
+import com.maratsan.shop.response.ReviewSummaryResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -26,19 +32,59 @@ public class ReviewService {
     private final ProductService productService;
 
 
-    public List<ReviewResponse> getAllReviewsByProductId(Long productId) {
-        var product = productService.getById(productId);
-        var reviews = reviewRepository.findAllByProduct(product);
+    @Transactional(readOnly = true)
+    public List<ReviewResponse> getAllReviewsByProductId(@NotNull @Min(1) Long productId, @NotNull @Valid ReviewFilterRequest filter) {
+        var afterId = filter.getAfterId();
+        var limit = Limit.of(filter.getSize());
+
+        var reviews = switch (filter.getSort()) {
+            case OLDEST -> reviewRepository.findOldestByProductId(productId, afterId, limit);
+            case NEWEST -> reviewRepository.findNewestByProductId(productId, afterId, limit);
+            case HIGHEST_RATED -> {
+                var afterRating = getRatingByIdAndProductId(afterId, productId);
+                yield reviewRepository.findHighestRatedByProductId(productId, afterRating, afterId, limit);
+            }
+            case LOWEST_RATED -> {
+                var afterRating = getRatingByIdAndProductId(afterId, productId);
+                yield reviewRepository.findLowestRatedByProductId(productId, afterRating, afterId, limit);
+            }
+        };
+
+        if (reviews.isEmpty()) {
+            productService.checkExistsById(productId);
+        }
 
         return reviewMapper.toResponse(reviews);
     }
 
+    @Transactional(readOnly = true)
+    public ReviewSummaryResponse getReviewSummaryByProductId(@NotNull @Min(1) Long productId) {
+        var ratingCounts = reviewRepository.countRatingsByProductId(productId);
+        if (ratingCounts.isEmpty()) {
+            productService.checkExistsById(productId);
+        }
+
+        var histogram = new EnumMap<Rating, Long>(Rating.class);
+        Arrays.stream(Rating.values()).forEach(rating -> histogram.put(rating, 0L));
+        ratingCounts.forEach(ratingCount -> histogram.put(ratingCount.getRating(), ratingCount.getCount()));
+
+        var count = histogram.values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        var ratingSum = histogram.entrySet().stream()
+                .mapToLong(entry -> entry.getKey().getValue() * entry.getValue())
+                .sum();
+        var averageRating = count == 0 ? null : (double) ratingSum / count;
+
+        return new ReviewSummaryResponse(count, averageRating, histogram);
+    }
+
     @Transactional
     public ReviewResponse createReviewByProductId(Long productId, @Valid ReviewRequest reviewRequest) {
-        var product = productService.getById(productId);
+        productService.addRating(productId, reviewRequest.getRating());
 
         var review = reviewMapper.fromRequest(reviewRequest);
-        review.setProduct(product);
+        review.setProduct(productService.getReferenceById(productId));
 
         review = reviewRepository.save(review);
 
@@ -47,10 +93,19 @@ public class ReviewService {
 
     @Transactional
     public void deleteReviewById(@NotNull @Min(1) Long id) {
-        reviewRepository.findById(id)
-                .ifPresentOrElse(reviewRepository::delete, () -> {
-                    throw new NotFoundException(ErrorCode.REVIEW_NOT_FOUND.description, ErrorCode.REVIEW_NOT_FOUND);
-                });
+        var review = reviewRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.REVIEW_NOT_FOUND.description, ErrorCode.REVIEW_NOT_FOUND));
+
+        reviewRepository.delete(review);
+        productService.removeRating(review.getProduct().getId(), review.getRating());
+    }
+
+    private Rating getRatingByIdAndProductId(Long id, Long productId) {
+        if (id == null) {
+            return null;
+        }
+        return reviewRepository.findRatingByIdAndProductId(id, productId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.REVIEW_NOT_FOUND.description, ErrorCode.REVIEW_NOT_FOUND));
     }
 
 
@@ -0,0 +1,62 @@
+package com.maratsan.shop.service;
+
+import com.maratsan.shop.datasource.DelayedEvictions;
+import com.maratsan.shop.entity.Category;
+import com.maratsan.shop.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+@Service
+public class SecondLevelCacheService {
+
+    private static final String PRODUCT_CATEGORIES_ROLE = Product.class.getName() + ".categories";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<DelayedEvictions> delayedEvictions;
+
+
+    public void evictCategory(Long id) {
+        evictAfterCompletion(cache -> {
+            cache.evictEntityData(Category.class, id);
+            cache.evictDefaultQueryRegion();
+        });
+    }
+
+    public void evictProductCategories(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        evictAfterCompletion(cache -> productIds.forEach(id -> cache.evictCollectionData(PRODUCT_CATEGORIES_ROLE, id)));
+    }
+
+    private void evictAfterCompletion(Consumer<Cache> eviction) {
+        var cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(cache, eviction);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(cache, eviction);
+            }
+        });
+    }
+
+    private void evict(Cache cache, Consumer<Cache> eviction) {
+        eviction.accept(cache);
+        delayedEvictions.ifAvailable(evictions -> evictions.schedule(() -> eviction.accept(cache)));
+    }
+
+}
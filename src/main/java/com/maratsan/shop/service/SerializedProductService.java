@@ -0,0 +1,58 @@
+package com.maratsan.shop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maratsan.shop.common.ETags;
+import com.maratsan.shop.common.SerializedResponse;
+import com.maratsan.shop.config.CacheConfig;
+import com.maratsan.shop.exception.SystemException;
+import com.maratsan.shop.response.ProductResponse;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+@RequiredArgsConstructor
+@Validated
+@Service
+public class SerializedProductService {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+    private final CacheManager cacheManager;
+
+    @Value("${app.serialized-responses.gzip-min-size:1024}")
+    private int gzipMinSize;
+
+
+    public SerializedResponse getProductById(@NotNull @Min(1) Long id, @NotNull MediaType mediaType) {
+        var product = productService.getProductById(id);
+
+        var cache = cacheManager.getCache(CacheConfig.SERIALIZED_PRODUCTS);
+        if (cache == null) {
+            return serialize(product, mediaType);
+        }
+        return cache.get(new Key(product.getId(), product.getVersion(), mediaType), () -> serialize(product, mediaType));
+    }
+
+    private SerializedResponse serialize(ProductResponse product, MediaType mediaType) {
+        var mapper = MediaType.APPLICATION_CBOR.equals(mediaType) ? cborHttpMessageConverter.getObjectMapper() : objectMapper;
+        try {
+            var body = mapper.writeValueAsBytes(product);
+            return new SerializedResponse(ETags.forMediaType(ETags.of(product), mediaType), product.getUpdatedAt(), body, body.length >= gzipMinSize);
+        } catch (JsonProcessingException ex) {
+            throw new SystemException(ex.getMessage(), ex);
+        }
+    }
+
+
+    private record Key(Long id, Long version, MediaType mediaType) {
+    }
+
+}
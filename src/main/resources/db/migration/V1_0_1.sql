@@ -0,0 +1,18 @@
+ALTER TABLE "product"
+    ADD COLUMN "review_count" INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN "rating_sum"   BIGINT  NOT NULL DEFAULT 0;
+
+UPDATE "product" p
+SET "review_count" = s."review_count",
+    "rating_sum"   = s."rating_sum"
+FROM (SELECT "product_id",
+             COUNT(*) AS "review_count",
+             SUM(CASE "rating"
+                     WHEN 'BAD' THEN 1
+                     WHEN 'AVERAGE' THEN 2
+                     WHEN 'GOOD' THEN 3
+                     WHEN 'EXCELLENT' THEN 4
+                 END) AS "rating_sum"
+      FROM "review"
+      GROUP BY "product_id") s
+WHERE p."id" = s."product_id";
@@ -0,0 +1,7 @@
+ALTER TABLE "product"
+    ADD COLUMN "version"    BIGINT                   NOT NULL DEFAULT 0,
+    ADD COLUMN "updated_at" TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+ALTER TABLE "category"
+    ADD COLUMN "version"    BIGINT                   NOT NULL DEFAULT 0,
+    ADD COLUMN "updated_at" TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
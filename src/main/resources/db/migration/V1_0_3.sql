@@ -0,0 +1,3 @@
+ALTER SEQUENCE "product_id_seq" INCREMENT BY 50;
+
+ALTER SEQUENCE "review_id_seq" INCREMENT BY 50;
@@ -0,0 +1,7 @@
+ALTER TABLE "product"
+    ADD COLUMN "search_vector" TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', "name"), 'A') ||
+        setweight(to_tsvector('english', coalesce("description", '')), 'B')
+    ) STORED;
+
+CREATE INDEX "idx_product_search_vector" ON "product" USING GIN ("search_vector");
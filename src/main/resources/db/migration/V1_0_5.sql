@@ -0,0 +1 @@
+CREATE INDEX "idx_review_product_id_id" ON "review" ("product_id", "id");
@@ -0,0 +1,74 @@
+ALTER TABLE "review" ADD COLUMN "rating_value" SMALLINT;
+
+ALTER TABLE "review" ALTER COLUMN "rating" DROP NOT NULL;
+
+CREATE FUNCTION "review_sync_rating"() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' AND NEW."rating_value" IS NULL
+        OR TG_OP = 'UPDATE' AND NEW."rating" IS DISTINCT FROM OLD."rating" THEN
+        NEW."rating_value" := CASE NEW."rating"
+                                  WHEN 'BAD' THEN 1
+                                  WHEN 'AVERAGE' THEN 2
+                                  WHEN 'GOOD' THEN 3
+                                  WHEN 'EXCELLENT' THEN 4
+                              END;
+    ELSIF TG_OP = 'INSERT' AND NEW."rating" IS NULL
+        OR TG_OP = 'UPDATE' AND NEW."rating_value" IS DISTINCT FROM OLD."rating_value" THEN
+        NEW."rating" := CASE NEW."rating_value"
+                            WHEN 1 THEN 'BAD'
+                            WHEN 2 THEN 'AVERAGE'
+                            WHEN 3 THEN 'GOOD'
+                            WHEN 4 THEN 'EXCELLENT'
+                        END;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER "trg_review_sync_rating"
+    BEFORE INSERT OR UPDATE ON "review"
+    FOR EACH ROW
+EXECUTE FUNCTION "review_sync_rating"();
+
+DO
+$$
+DECLARE
+    batch_size CONSTANT BIGINT := 10000;
+    last_id    BIGINT := 0;
+    max_id     BIGINT;
+    unmapped   RECORD;
+BEGIN
+    SELECT coalesce(max("id"), 0) INTO max_id FROM "review";
+    WHILE last_id < max_id LOOP
+        UPDATE "review"
+        SET "rating_value" = CASE "rating"
+                                 WHEN 'BAD' THEN 1
+                                 WHEN 'AVERAGE' THEN 2
+                                 WHEN 'GOOD' THEN 3
+                                 WHEN 'EXCELLENT' THEN 4
+                             END
+        WHERE "id" > last_id AND "id" <= last_id + batch_size AND "rating_value" IS NULL;
+
+        SELECT "id", "rating" INTO unmapped
+        FROM "review"
+        WHERE "id" > last_id AND "id" <= last_id + batch_size AND "rating_value" IS NULL
+        LIMIT 1;
+        IF FOUND THEN
+            RAISE EXCEPTION 'Review % has unmapped rating %', unmapped."id", unmapped."rating";
+        END IF;
+
+        last_id := last_id + batch_size;
+        COMMIT;
+    END LOOP;
+END;
+$$;
+
+ALTER TABLE "review"
+    ADD CONSTRAINT "ck_review_rating_value" CHECK ("rating_value" IS NOT NULL AND "rating_value" BETWEEN 1 AND 4) NOT VALID;
+
+ALTER TABLE "review" VALIDATE CONSTRAINT "ck_review_rating_value";
+
+ALTER TABLE "review" ALTER COLUMN "rating_value" SET NOT NULL;
+
+CREATE INDEX CONCURRENTLY "idx_review_product_id_rating_value_id" ON "review" ("product_id", "rating_value", "id");
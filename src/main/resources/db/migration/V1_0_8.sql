@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY "idx_product_category_category_id_product_id" ON "product_category" ("category_id", "product_id");
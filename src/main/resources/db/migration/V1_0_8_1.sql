@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY "idx_review_product_id_rating_value_id_desc" ON "review" ("product_id", "rating_value", "id" DESC);
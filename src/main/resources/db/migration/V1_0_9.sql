@@ -0,0 +1,8 @@
+-- Contract step of the review rating migration started in V1_0_6.
+-- Ships one release after V1_0_6 to V1_0_8_1: apply it only once no running instance still reads or writes "rating".
+
+DROP TRIGGER "trg_review_sync_rating" ON "review";
+
+DROP FUNCTION "review_sync_rating"();
+
+ALTER TABLE "review" DROP COLUMN "rating";
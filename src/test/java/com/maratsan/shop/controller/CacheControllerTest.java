@@ -0,0 +1,260 @@
+package com.maratsan.shop.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maratsan.shop.common.Rating;
+import com.maratsan.shop.config.CacheConfig;
+import com.maratsan.shop.request.CategoryRequest;
+import com.maratsan.shop.request.ProductBatchGetRequest;
+import com.maratsan.shop.request.ProductRequest;
+import com.maratsan.shop.request.ReviewRequest;
+import com.maratsan.shop.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.cache.enabled=true")
+@AutoConfigureMockMvc
+@Sql(value = {"/sql/product-controller-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/sql/product-controller-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getProductByIdCachedTest() throws Exception {
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(SqlResultMatchers.statementCount(1));
+
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Product 1")))
+                .andExpect(SqlResultMatchers.statementCount(0));
+
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(1L));
+    }
+
+    @Test
+    void getProductByIdCacheMetricsTest() throws Exception {
+        var hits = cacheGets(CacheConfig.PRODUCTS, "hit");
+        var misses = cacheGets(CacheConfig.PRODUCTS, "miss");
+
+        this.mockMvc.perform(get("/products/2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/products/2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        assertEquals(misses + 1, cacheGets(CacheConfig.PRODUCTS, "miss"));
+        assertEquals(hits + 1, cacheGets(CacheConfig.PRODUCTS, "hit"));
+    }
+
+    @Test
+    void getProductsByIdsSkipsCachedIdsTest() throws Exception {
+        cacheProduct(1L);
+        cacheProduct(2L);
+        jdbcTemplate.update("UPDATE \"product\" SET \"name\" = 'Product 1 changed' WHERE \"id\" = 1");
+        var hits = cacheGets(CacheConfig.PRODUCTS, "hit");
+
+        this.mockMvc.perform(post("/products/batch-get")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new ProductBatchGetRequest(List.of(3L, 1L, 2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[*].id", contains(3, 1, 2)))
+                .andExpect(jsonPath("$.products[1].name", is("Product 1")))
+                .andExpect(SqlResultMatchers.statementCount(1));
+
+        assertEquals(hits + 2, cacheGets(CacheConfig.PRODUCTS, "hit"));
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(3L));
+        this.mockMvc.perform(post("/products/batch-get")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new ProductBatchGetRequest(List.of(1L, 2L, 3L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(3)))
+                .andExpect(SqlResultMatchers.statementCount(0));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void updateProductEvictsCacheTest() throws Exception {
+        cacheProduct(1L);
+        var productRequest = new ProductRequest("Product 4", "Description 4", new BigDecimal("99.99"), List.of(1L));
+
+        this.mockMvc.perform(put("/products/1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(productRequest)))
+                .andExpect(status().isOk());
+
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(1L));
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Product 4")))
+                .andExpect(jsonPath("$.categories", hasSize(1)));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void deleteProductEvictsCacheTest() throws Exception {
+        cacheProduct(3L);
+
+        this.mockMvc.perform(delete("/products/3"))
+                .andExpect(status().isNoContent());
+
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(3L));
+        this.mockMvc.perform(get("/products/3")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithUserDetails
+    void createReviewEvictsProductCacheTest() throws Exception {
+        cacheProduct(3L);
+        var reviewRequest = new ReviewRequest("Review 5", Rating.EXCELLENT);
+
+        this.mockMvc.perform(post("/products/3/reviews")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(reviewRequest)))
+                .andExpect(status().isCreated());
+
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(3L));
+        this.mockMvc.perform(get("/products/3")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRating", is(4)));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void deleteReviewEvictsProductCacheTest() throws Exception {
+        cacheProduct(1L);
+
+        this.mockMvc.perform(delete("/reviews/2"))
+                .andExpect(status().isNoContent());
+
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(1L));
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRating", is(1)));
+    }
+
+    @Test
+    void getCategoryByIdCachedTest() throws Exception {
+        this.mockMvc.perform(get("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Category 1")))
+                .andExpect(SqlResultMatchers.statementCount(0));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void updateCategoryEvictsCacheTest() throws Exception {
+        cacheProduct(1L);
+        this.mockMvc.perform(get("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(put("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new CategoryRequest("Category 4"))))
+                .andExpect(status().isOk());
+
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(1L));
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(1L));
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[*].name", hasItem("Category 4")));
+    }
+
+    @Test
+    void reconcileRatingsEvictsCacheTest() throws Exception {
+        jdbcTemplate.update("UPDATE \"product\" SET \"review_count\" = 5, \"rating_sum\" = 25 WHERE \"id\" = 1");
+        var eTag = this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRating", is(5)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals(1, productService.reconcileRatings());
+
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(1L));
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRating", is(2)))
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+        assertEquals(0, productService.reconcileRatings());
+    }
+
+    private void cacheProduct(Long id) throws Exception {
+        this.mockMvc.perform(get("/products/" + id)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(id));
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", cacheName, "result", result)
+                .functionCounter()
+                .count();
+    }
+
+}
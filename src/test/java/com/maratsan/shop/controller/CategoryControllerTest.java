@@ -1,17 +1,24 @@
 package com.maratsan.shop.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.maratsan.shop.request.CategoryAssignmentRequest;
 import com.maratsan.shop.request.CategoryRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,6 +47,85 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$[2].name", is("Clothing")));
     }
 
+    @Test
+    void getCategoriesCborTest() throws Exception {
+        var body = this.mockMvc.perform(get("/categories")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var categories = new CBORMapper().readTree(body);
+        assertEquals(3, categories.size());
+        assertEquals("Electronics", categories.get(0).get("name").asText());
+        assertEquals("Books", categories.get(1).get("name").asText());
+        assertEquals("Clothing", categories.get(2).get("name").asText());
+    }
+
+    @Test
+    void getCategoriesCborETagTest() throws Exception {
+        var eTag = this.mockMvc.perform(get("/categories")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var cborETag = this.mockMvc.perform(get("/categories")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(eTag, cborETag);
+        this.mockMvc.perform(get("/categories")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        this.mockMvc.perform(get("/categories")
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getCategoryCborETagTest() throws Exception {
+        var eTag = this.mockMvc.perform(get("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(get("/categories/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void getCategoriesNotAcceptableTest() throws Exception {
+        this.mockMvc.perform(get("/categories")
+                        .accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void createCategoryByAdminCborTest() throws Exception {
+        var cborMapper = new CBORMapper();
+        var categoryRequest = new CategoryRequest("Health");
+
+        var body = this.mockMvc.perform(post("/categories")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(categoryRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("Health", cborMapper.readTree(body).get("name").asText());
+    }
+
     @Test
     void createCategoryByAnonymousTest() throws Exception {
         var categoryRequest = new CategoryRequest("Health");
@@ -126,6 +212,21 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.name", is("Electronics")));
     }
 
+    @Test
+    void getCategoryByIdNotModifiedTest() throws Exception {
+        var eTag = this.mockMvc.perform(get("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(get("/categories/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getCategoryByIdNotFoundTest() throws Exception {
         this.mockMvc.perform(get("/categories/100")
@@ -240,6 +341,45 @@ class CategoryControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithUserDetails("admin")
+    void deleteCategoryWithProductsByAdminTest() throws Exception {
+        this.mockMvc.perform(delete("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        this.mockMvc.perform(get("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        this.mockMvc.perform(get("/products/2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[*].id", contains(3)));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void deleteCategoryAsyncByAdminTest() throws Exception {
+        this.mockMvc.perform(delete("/categories/1")
+                        .param("async", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted());
+
+        var deadline = System.currentTimeMillis() + 10_000;
+        while (this.mockMvc.perform(get("/categories/1")).andReturn().getResponse().getStatus() != 404) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Category was not deleted in time");
+            }
+            Thread.sleep(50);
+        }
+
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories", hasSize(0)));
+    }
+
     @Test
     @WithUserDetails("admin")
     void deleteCategoryByAdminNotFoundTest() throws Exception {
@@ -251,4 +391,93 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.errorCode", is("CATEGORY_NOT_FOUND")));
     }
 
+    @Test
+    @WithUserDetails("user")
+    void assignProductsByUserTest() throws Exception {
+        var request = new CategoryAssignmentRequest(List.of(1L));
+
+        this.mockMvc.perform(post("/categories/3/products/assign")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void assignProductsByAdminTest() throws Exception {
+        var request = new CategoryAssignmentRequest(List.of(1L, 2L, 3L, 999L));
+
+        this.mockMvc.perform(post("/categories/3/products/assign")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedProducts", is(2)));
+
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[*].id", containsInAnyOrder(1, 3)));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void assignProductsByAdminNotFoundTest() throws Exception {
+        var request = new CategoryAssignmentRequest(List.of(1L));
+
+        this.mockMvc.perform(post("/categories/100/products/assign")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode", is("CATEGORY_NOT_FOUND")));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void unassignProductsByAdminTest() throws Exception {
+        var request = new CategoryAssignmentRequest(List.of(1L, 2L, 3L));
+
+        this.mockMvc.perform(post("/categories/1/products/unassign")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedProducts", is(2)));
+
+        this.mockMvc.perform(get("/products")
+                        .param("categoryId", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void mergeCategoryByAdminTest() throws Exception {
+        this.mockMvc.perform(post("/categories/1/merge-into/3")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedProducts", is(2)));
+
+        this.mockMvc.perform(get("/categories/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        this.mockMvc.perform(get("/products/2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[*].id", contains(3)));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void mergeCategoryIntoItselfByAdminTest() throws Exception {
+        this.mockMvc.perform(post("/categories/1/merge-into/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("CATEGORY_MERGE_INTO_ITSELF")));
+    }
+
 }
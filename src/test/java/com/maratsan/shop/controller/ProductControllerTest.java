@@ -1,20 +1,32 @@
 package com.maratsan.shop.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.maratsan.shop.request.ProductBatchDeleteRequest;
+import com.maratsan.shop.request.ProductBatchGetRequest;
 import com.maratsan.shop.request.ProductRequest;
+import com.maratsan.shop.response.ProductResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -41,6 +53,232 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[2].name", is("Product 3")));
     }
 
+    @Test
+    void getProductsStatementCountTest() throws Exception {
+        var singleProductCount = countStatements(get("/products").param("size", "1"));
+        var allProductsCount = countStatements(get("/products"));
+
+        assertEquals(singleProductCount, allProductsCount);
+    }
+
+    @Test
+    void getProductsCborETagTest() throws Exception {
+        var eTag = mockMvc.perform(get("/products")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var cborETag = mockMvc.perform(get("/products")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(eTag, cborETag);
+        mockMvc.perform(get("/products")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/products")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getProductsPageTest() throws Exception {
+        mockMvc.perform(get("/products")
+                        .param("afterId", "1")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(2)))
+                .andExpect(jsonPath("$[0].name", is("Product 2")));
+    }
+
+    @Test
+    void getProductsFilteredTest() throws Exception {
+        mockMvc.perform(get("/products")
+                        .param("categoryId", "2")
+                        .param("minPrice", "150")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Product 3")));
+    }
+
+    @Test
+    void getProductsByMinRatingTest() throws Exception {
+        mockMvc.perform(get("/products")
+                        .param("minRating", "4")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Product 2")))
+                .andExpect(jsonPath("$[0].averageRating", is(4)));
+    }
+
+    @Test
+    void getProductsWithValidationViolationsTest() throws Exception {
+        mockMvc.perform(get("/products")
+                        .param("size", "1000")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", notNullValue()))
+                .andExpect(jsonPath("$.errorCode", is("VALIDATION_ERROR")));
+    }
+
+    @Test
+    void searchProductsTest() throws Exception {
+        mockMvc.perform(get("/products/search")
+                        .param("q", "product")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].categories", notNullValue()));
+    }
+
+    @Test
+    void searchProductsRankedTest() throws Exception {
+        mockMvc.perform(get("/products/search")
+                        .param("q", "description 2 or product 2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(2)));
+    }
+
+    @Test
+    void searchProductsPageTest() throws Exception {
+        mockMvc.perform(get("/products/search")
+                        .param("q", "product")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(1, 2)));
+
+        mockMvc.perform(get("/products/search")
+                        .param("q", "product")
+                        .param("size", "2")
+                        .param("afterId", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(3)));
+    }
+
+    @Test
+    void searchProductsInvalidCursorTest() throws Exception {
+        mockMvc.perform(get("/products/search")
+                        .param("q", "description 2")
+                        .param("afterId", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("INVALID_SEARCH_CURSOR")));
+
+        mockMvc.perform(get("/products/search")
+                        .param("q", "product")
+                        .param("afterId", "100")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("INVALID_SEARCH_CURSOR")));
+    }
+
+    @Test
+    void searchProductsByCategoryTest() throws Exception {
+        mockMvc.perform(get("/products/search")
+                        .param("q", "product")
+                        .param("categoryId", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(1, 3)));
+    }
+
+    @Test
+    void searchProductsWithValidationViolationsTest() throws Exception {
+        mockMvc.perform(get("/products/search")
+                        .param("q", " ")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("VALIDATION_ERROR")));
+    }
+
+    @Test
+    void getProductsByIdsTest() throws Exception {
+        var request = new ProductBatchGetRequest(List.of(3L, 999L, 1L, 3L));
+
+        mockMvc.perform(post("/products/batch-get")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.products[*].id", contains(3, 1)))
+                .andExpect(jsonPath("$.products[1].categories", hasSize(2)))
+                .andExpect(jsonPath("$.missingIds", contains(999)));
+    }
+
+    @Test
+    void getProductsByIdsStatementCountTest() throws Exception {
+        var request = new ProductBatchGetRequest(List.of(1L, 2L, 3L));
+
+        mockMvc.perform(post("/products/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(SqlResultMatchers.statementCount(1));
+    }
+
+    @Test
+    void getProductsByIdsWithValidationViolationsTest() throws Exception {
+        var request = new ProductBatchGetRequest(List.of());
+
+        mockMvc.perform(post("/products/batch-get")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("VALIDATION_ERROR")));
+    }
+
+    @Test
+    void exportProductsTest() throws Exception {
+        var result = mockMvc.perform(get("/products/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var content = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(stringContainsInOrder("Product 1", "Category 2", "Product 2", "Product 3")))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(3, content.lines().count());
+    }
+
+    @Test
+    void exportProductsBodyTest() throws Exception {
+        var expected = String.join("\n",
+                "{\"id\":1,\"name\":\"Product 1\",\"description\":\"Description 1\",\"price\":100.00,"
+                        + "\"categories\":[{\"id\":1,\"name\":\"Category 1\"},{\"id\":2,\"name\":\"Category 2\"}],\"averageRating\":2}",
+                "{\"id\":2,\"name\":\"Product 2\",\"description\":\"Description 2\",\"price\":200.00,"
+                        + "\"categories\":[{\"id\":1,\"name\":\"Category 1\"}],\"averageRating\":4}",
+                "{\"id\":3,\"name\":\"Product 3\",\"description\":\"Description 3\",\"price\":300.00,"
+                        + "\"categories\":[{\"id\":2,\"name\":\"Category 2\"}],\"averageRating\":null}");
+
+        var result = mockMvc.perform(get("/products/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(expected.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     void createProductByAnonymousTest() throws Exception {
         var productRequest = new ProductRequest("Product 4", "Description 4", new BigDecimal("99.99"), List.of(1L, 2L));
@@ -106,6 +344,111 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.errorCode", is("VALIDATION_ERROR")));
     }
 
+    @Test
+    @WithUserDetails("user")
+    void importProductsByUserTest() throws Exception {
+        this.mockMvc.perform(post("/products/import")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void importProductsByAdminTest() throws Exception {
+        var productRequests = List.of(
+                new ProductRequest("Product 4", "Description 4", new BigDecimal("40.0"), List.of(1L, 2L)),
+                new ProductRequest("Product 5", "Description 5", new BigDecimal("-1"), List.of(1L)),
+                new ProductRequest("Product 6", "Description 6", new BigDecimal("60.0"), List.of(99L)),
+                new ProductRequest("Product 7", "Description 7", new BigDecimal("70.0"), List.of())
+        );
+
+        this.mockMvc.perform(post("/products/import")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(productRequests)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.errors", hasSize(2)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].errorCode", is("VALIDATION_ERROR")))
+                .andExpect(jsonPath("$.errors[0].violations[0].fieldName", is("price")))
+                .andExpect(jsonPath("$.errors[1].row", is(3)))
+                .andExpect(jsonPath("$.errors[1].errorCode", is("CATEGORY_NOT_FOUND")));
+
+        this.mockMvc.perform(get("/products")
+                        .param("categoryId", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Product 1", "Product 3", "Product 4")));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void importProductsWithNullCategoryByAdminTest() throws Exception {
+        var productRequests = List.of(
+                new ProductRequest("Product 4", "Description 4", new BigDecimal("40.0"), Arrays.asList(1L, null)),
+                new ProductRequest("Product 5", "Description 5", new BigDecimal("50.0"), List.of(1L))
+        );
+
+        this.mockMvc.perform(post("/products/import")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(productRequests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(1)))
+                .andExpect(jsonPath("$.errors[0].errorCode", is("VALIDATION_ERROR")))
+                .andExpect(jsonPath("$.errors[0].violations[0].fieldName", startsWith("categories[1]")));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void importProductsWithNullRowByAdminTest() throws Exception {
+        var productRequests = Arrays.asList(
+                new ProductRequest("Product 4", "Description 4", new BigDecimal("40.0"), List.of(1L)),
+                null,
+                new ProductRequest("Product 5", "Description 5", new BigDecimal("50.0"), List.of(1L))
+        );
+
+        this.mockMvc.perform(post("/products/import")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(productRequests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].errorCode", is("BAD_REQUEST")))
+                .andExpect(jsonPath("$.errors[0].description", is("Row is not a valid product")));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void importProductsFromCsvByAdminTest() throws Exception {
+        var csv = """
+                name,description,price,categories
+                Product 4,Description 4,40.0,1;2
+                Product 5,Description 5,abc,1
+                Product 6,Description 6,60.0,3
+                """;
+
+        this.mockMvc.perform(post("/products/import")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].errorCode", is("BAD_REQUEST")))
+                .andExpect(jsonPath("$.errors[0].description", is("Row is not a valid product")));
+    }
+
     @Test
     void getProductByIdTest() throws Exception {
         mockMvc.perform(get("/products/1")
@@ -122,6 +465,156 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.categories[1].id", is(2)));
     }
 
+    @Test
+    void getProductByIdNotModifiedTest() throws Exception {
+        var eTag = mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getProductByIdGzipTest() throws Exception {
+        var body = mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            var product = mapper.readValue(input, ProductResponse.class);
+            assertEquals(1L, product.getId());
+            assertEquals("Product 1", product.getName());
+        }
+    }
+
+    @Test
+    void getProductByIdGzipETagTest() throws Exception {
+        var eTag = mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var gzipETag = mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(eTag, gzipETag);
+        mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipETag)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void updateProductByAdminWithGzipETagTest() throws Exception {
+        var gzipETag = mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var productRequest = new ProductRequest("Product 4", "Description 4", new BigDecimal("99.99"), List.of(1L, 2L));
+
+        this.mockMvc.perform(put("/products/1")
+                        .header(HttpHeaders.IF_MATCH, gzipETag)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(productRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Product 4")));
+    }
+
+    @Test
+    void getProductByIdCborTest() throws Exception {
+        var body = mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var product = CBORMapper.builder().findAndAddModules().build().readValue(body, ProductResponse.class);
+        assertEquals(1L, product.getId());
+        assertEquals("Product 1", product.getName());
+        assertEquals(2, product.getCategories().size());
+    }
+
+    @Test
+    void getProductByIdCborETagTest() throws Exception {
+        var eTag = mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var cborETag = mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(eTag, cborETag);
+        mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getProductByIdDefaultMediaTypeTest() throws Exception {
+        mockMvc.perform(get("/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getProductByIdPreferredMediaTypeTest() throws Exception {
+        mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        mockMvc.perform(get("/products/1")
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getProductByIdStatementCountTest() throws Exception {
+        var richProductCount = countStatements(get("/products/1"));
+        var plainProductCount = countStatements(get("/products/3"));
+
+        assertEquals(1, richProductCount);
+        assertEquals(richProductCount, plainProductCount);
+    }
+
     @Test
     void getProductByIdNotFoundTest() throws Exception {
         mockMvc.perform(get("/products/100")
@@ -132,6 +625,17 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.errorCode", is("PRODUCT_NOT_FOUND")));
     }
 
+    @Test
+    void getProductByIdNotFoundCborTest() throws Exception {
+        var body = mockMvc.perform(get("/products/100")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("PRODUCT_NOT_FOUND", new CBORMapper().readTree(body).get("errorCode").asText());
+    }
+
     @Test
     void updateProductByAnonymousTest() throws Exception {
         var productRequest = new ProductRequest("Product 4", "Description 4", new BigDecimal("99.99"), List.of(1L, 2L));
@@ -182,6 +686,22 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.categories[1].id", is(2)));
     }
 
+    @Test
+    @WithUserDetails("admin")
+    void updateProductByAdminWithStaleVersionTest() throws Exception {
+        var productRequest = new ProductRequest("Product 4", "Description 4", new BigDecimal("99.99"), List.of(1L, 2L));
+
+        this.mockMvc.perform(put("/products/1")
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(productRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", notNullValue()))
+                .andExpect(jsonPath("$.errorCode", is("PRODUCT_VERSION_MISMATCH")));
+    }
+
     @Test
     @WithUserDetails("admin")
     void updateProductByAdminWithValidationViolationsTest() throws Exception {
@@ -237,4 +757,57 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.errorCode", is("PRODUCT_NOT_FOUND")));
     }
 
+    @Test
+    @WithUserDetails("user")
+    void deleteProductsByUserTest() throws Exception {
+        var request = new ProductBatchDeleteRequest(List.of(1L));
+
+        mockMvc.perform(post("/products/batch-delete")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void deleteProductsByAdminTest() throws Exception {
+        var request = new ProductBatchDeleteRequest(List.of(2L, 999L, 1L));
+
+        mockMvc.perform(post("/products/batch-delete")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedIds", contains(2, 1)))
+                .andExpect(jsonPath("$.missingIds", contains(999)));
+
+        mockMvc.perform(get("/products")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(3)));
+    }
+
+    @Test
+    @WithUserDetails("admin")
+    void deleteProductsStatementCountTest() throws Exception {
+        var withReviewsCount = countStatements(post("/products/batch-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(new ProductBatchDeleteRequest(List.of(1L)))));
+        var withoutReviewsCount = countStatements(post("/products/batch-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(new ProductBatchDeleteRequest(List.of(3L)))));
+
+        assertEquals(1, withReviewsCount);
+        assertEquals(withReviewsCount, withoutReviewsCount);
+    }
+
+    private long countStatements(RequestBuilder request) throws Exception {
+        var result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return SqlResultMatchers.statementCount(result);
+    }
+
 }
@@ -12,8 +12,10 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -43,6 +45,99 @@ public class ProductReviewControllerTest {
                 .andExpect(jsonPath("$[1].rating", is("GOOD")));
     }
 
+    @Test
+    void getProductReviewsPageTest() throws Exception {
+        this.mockMvc.perform(get("/products/1/reviews")
+                        .param("afterId", "1")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].comment", is("Review 2")));
+    }
+
+    @Test
+    void getProductReviewsNewestTest() throws Exception {
+        this.mockMvc.perform(get("/products/1/reviews")
+                        .param("sort", "NEWEST")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].comment", contains("Review 2", "Review 1")));
+    }
+
+    @Test
+    void getProductReviewsHighestRatedTest() throws Exception {
+        this.mockMvc.perform(get("/products/1/reviews")
+                        .param("sort", "HIGHEST_RATED")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].rating", contains("GOOD", "BAD")));
+
+        this.mockMvc.perform(get("/products/1/reviews")
+                        .param("sort", "HIGHEST_RATED")
+                        .param("afterId", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].rating", contains("BAD")));
+    }
+
+    @Test
+    void getProductReviewsLowestRatedTest() throws Exception {
+        this.mockMvc.perform(get("/products/1/reviews")
+                        .param("sort", "LOWEST_RATED")
+                        .param("afterId", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].rating", contains("GOOD")));
+    }
+
+    @Test
+    void getProductReviewsNotFoundTest() throws Exception {
+        this.mockMvc.perform(get("/products/999/reviews")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode", is("PRODUCT_NOT_FOUND")));
+    }
+
+    @Test
+    void getProductReviewsWithValidationViolationsTest() throws Exception {
+        this.mockMvc.perform(get("/products/1/reviews")
+                        .param("size", "1000")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("VALIDATION_ERROR")));
+    }
+
+    @Test
+    void getProductReviewSummaryTest() throws Exception {
+        this.mockMvc.perform(get("/products/1/reviews/summary")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.count", is(2)))
+                .andExpect(jsonPath("$.averageRating", is(2.0)))
+                .andExpect(jsonPath("$.histogram.BAD", is(1)))
+                .andExpect(jsonPath("$.histogram.AVERAGE", is(0)))
+                .andExpect(jsonPath("$.histogram.GOOD", is(1)))
+                .andExpect(jsonPath("$.histogram.EXCELLENT", is(0)));
+    }
+
+    @Test
+    void getProductReviewSummaryNotFoundTest() throws Exception {
+        this.mockMvc.perform(get("/products/999/reviews/summary")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode", is("PRODUCT_NOT_FOUND")));
+    }
+
+    @Test
+    void getProductReviewsStatementCountTest() throws Exception {
+        var twoReviewsCount = countStatements(get("/products/1/reviews"));
+        var oneReviewCount = countStatements(get("/products/3/reviews"));
+
+        assertEquals(twoReviewsCount, oneReviewCount);
+    }
+
     @Test
     void createProductReviewByAnonymousTest() throws Exception {
         var reviewRequest = new ReviewRequest("Review 3", Rating.GOOD);
@@ -72,6 +167,23 @@ public class ProductReviewControllerTest {
                 .andExpect(jsonPath("$.rating", is("GOOD")));
     }
 
+    @Test
+    @WithUserDetails
+    void createProductReviewUpdatesAverageRatingTest() throws Exception {
+        var reviewRequest = new ReviewRequest("Review 5", Rating.EXCELLENT);
+
+        this.mockMvc.perform(post("/products/3/reviews")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(reviewRequest)))
+                .andExpect(status().isCreated());
+
+        this.mockMvc.perform(get("/products/3")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRating", is(4)));
+    }
+
     @Test
     @WithUserDetails
     void createProductReviewByUserWithValidationViolationsTest() throws Exception {
@@ -102,4 +214,12 @@ public class ProductReviewControllerTest {
                 .andExpect(jsonPath("$.errorCode", is("PRODUCT_NOT_FOUND")));
     }
 
+    private long countStatements(RequestBuilder request) throws Exception {
+        var result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return SqlResultMatchers.statementCount(result);
+    }
+
 }
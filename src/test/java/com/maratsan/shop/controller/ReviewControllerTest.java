@@ -52,6 +52,19 @@ class ReviewControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithUserDetails("admin")
+    void deleteReviewUpdatesAverageRatingTest() throws Exception {
+        this.mockMvc.perform(delete("/reviews/2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        this.mockMvc.perform(get("/products/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRating", is(1)));
+    }
+
     @Test
     @WithUserDetails("admin")
     void deleteReviewNotFoundTest() throws Exception {
@@ -0,0 +1,34 @@
+package com.maratsan.shop.controller;
+
+import com.maratsan.shop.monitoring.SqlStatistics;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class SqlResultMatchers {
+
+    private SqlResultMatchers() {
+    }
+
+
+    static ResultMatcher statementCount(long expected) {
+        return result -> assertEquals(expected, statementCount(result), "SQL statement count");
+    }
+
+    static ResultMatcher maxStatementCount(long max) {
+        return result -> {
+            var actual = statementCount(result);
+            assertTrue(actual <= max, "Expected at most " + max + " SQL statements but was " + actual);
+        };
+    }
+
+    static long statementCount(MvcResult result) {
+        var statistics = (SqlStatistics) result.getRequest().getAttribute(SqlStatistics.REQUEST_ATTRIBUTE);
+        assertNotNull(statistics, "No SQL statistics recorded, is app.sql-monitoring.enabled set?");
+        return statistics.getStatementCount();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.maratsan.shop.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class DelayedEvictionCacheTest {
+
+    private static final Duration DELAY = Duration.ofSeconds(5);
+
+    private TaskScheduler taskScheduler;
+    private ConcurrentMapCache delegate;
+    private DelayedEvictionCache cache;
+
+
+    @BeforeEach
+    void setUp() {
+        taskScheduler = mock(TaskScheduler.class);
+        delegate = new ConcurrentMapCache("products");
+        cache = new DelayedEvictionCache(delegate, new DelayedEvictions(taskScheduler, DELAY));
+    }
+
+    @Test
+    void evictRepeatedAfterDelayTest() {
+        var start = Instant.now();
+        cache.put(1L, "Product 1");
+
+        cache.evict(1L);
+        assertNull(delegate.get(1L));
+        delegate.put(1L, "Stale product 1");
+
+        var instant = ArgumentCaptor.forClass(Instant.class);
+        var eviction = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(eviction.capture(), instant.capture());
+        assertFalse(instant.getValue().isBefore(start.plus(DELAY)));
+        eviction.getValue().run();
+        assertNull(delegate.get(1L));
+    }
+
+    @Test
+    void clearRepeatedAfterDelayTest() {
+        cache.clear();
+        delegate.put(1L, "Stale product 1");
+
+        var eviction = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(eviction.capture(), any(Instant.class));
+        eviction.getValue().run();
+        assertNull(delegate.get(1L));
+    }
+
+    @Test
+    void readsAndWritesNotScheduledTest() {
+        cache.put(1L, "Product 1");
+
+        assertNotNull(cache.get(1L));
+        assertEquals("Product 1", cache.get(1L, String.class));
+        verifyNoInteractions(taskScheduler);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.maratsan.shop.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void stop() {
+        ReadYourWrites.stop();
+    }
+
+    @Test
+    void primaryNotRequiredWithoutCookieTest() {
+        ReadYourWrites.start(request, response, WINDOW);
+
+        assertFalse(ReadYourWrites.isPrimaryRequired());
+    }
+
+    @Test
+    void primaryRequiredWithinWindowTest() {
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, String.valueOf(System.currentTimeMillis() + 60_000)));
+        ReadYourWrites.start(request, response, WINDOW);
+
+        assertTrue(ReadYourWrites.isPrimaryRequired());
+    }
+
+    @Test
+    void primaryNotRequiredAfterWindowTest() {
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, String.valueOf(System.currentTimeMillis() - 1)));
+        ReadYourWrites.start(request, response, WINDOW);
+
+        assertFalse(ReadYourWrites.isPrimaryRequired());
+    }
+
+    @Test
+    void primaryNotRequiredWithMalformedCookieTest() {
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, "tomorrow"));
+        ReadYourWrites.start(request, response, WINDOW);
+
+        assertFalse(ReadYourWrites.isPrimaryRequired());
+    }
+
+    @Test
+    void recordWriteSetsCookieTest() {
+        ReadYourWrites.start(request, response, WINDOW);
+        var before = System.currentTimeMillis();
+
+        ReadYourWrites.recordWrite();
+        ReadYourWrites.recordWrite();
+
+        assertTrue(ReadYourWrites.isPrimaryRequired());
+        assertEquals(1, response.getHeaders(HttpHeaders.SET_COOKIE).size());
+        var cookie = response.getCookie(ReadYourWrites.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(WINDOW.toSeconds(), cookie.getMaxAge());
+        var until = Long.parseLong(cookie.getValue());
+        assertTrue(until >= before + WINDOW.toMillis());
+        assertTrue(until <= System.currentTimeMillis() + WINDOW.toMillis());
+    }
+
+    @Test
+    void recordWriteAfterCommitTest() throws Exception {
+        ReadYourWrites.start(request, response, WINDOW);
+        response.flushBuffer();
+
+        ReadYourWrites.recordWrite();
+
+        assertTrue(ReadYourWrites.isPrimaryRequired());
+        assertNull(response.getCookie(ReadYourWrites.COOKIE_NAME));
+    }
+
+    @Test
+    void recordWriteOutsideRequestTest() {
+        ReadYourWrites.recordWrite();
+
+        assertFalse(ReadYourWrites.isPrimaryRequired());
+    }
+
+}
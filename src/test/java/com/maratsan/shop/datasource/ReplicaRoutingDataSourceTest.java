@@ -0,0 +1,137 @@
+package com.maratsan.shop.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private long replica1Lag;
+    private long replica2Lag;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        replicas.put("replica-1", replica(() -> replica1Lag));
+        replicas.put("replica-2", replica(() -> replica2Lag));
+        dataSource = new ReplicaRoutingDataSource(mock(DataSource.class), replicas, MAX_LAG);
+        dataSource.checkReplicationLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.stop();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readWriteTransactionRoutedToPrimaryTest() {
+        ReadYourWrites.start(request, response, Duration.ofSeconds(5));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals("primary", dataSource.determineCurrentLookupKey());
+        assertNotNull(response.getCookie(ReadYourWrites.COOKIE_NAME));
+    }
+
+    @Test
+    void nonTransactionalAccessRoutedToPrimaryTest() {
+        ReadYourWrites.start(request, response, Duration.ofSeconds(5));
+
+        assertEquals("primary", dataSource.determineCurrentLookupKey());
+        assertNull(response.getCookie(ReadYourWrites.COOKIE_NAME));
+    }
+
+    @Test
+    void readOnlyTransactionRoutedToReplicasTest() {
+        readOnlyTransaction();
+
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-2", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionSkipsLaggingReplicaTest() {
+        replica1Lag = MAX_LAG.toMillis() + 1;
+        dataSource.checkReplicationLag();
+        readOnlyTransaction();
+
+        assertEquals("replica-2", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-2", dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionWithoutAvailableReplicasRoutedToPrimaryTest() {
+        replica1Lag = MAX_LAG.toMillis() + 1;
+        replica2Lag = MAX_LAG.toMillis() + 1;
+        dataSource.checkReplicationLag();
+        readOnlyTransaction();
+
+        assertEquals("primary", dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionWithinReadYourWritesWindowRoutedToPrimaryTest() {
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, String.valueOf(System.currentTimeMillis() + 60_000)));
+        ReadYourWrites.start(request, response, Duration.ofSeconds(5));
+        readOnlyTransaction();
+
+        assertEquals("primary", dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionAfterWriteRoutedToPrimaryTest() {
+        ReadYourWrites.start(request, response, Duration.ofSeconds(5));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("primary", dataSource.determineCurrentLookupKey());
+    }
+
+    private void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private static DataSource replica(Supplier<Long> lagMillis) throws SQLException {
+        var dataSource = mock(DataSource.class);
+        var connection = mock(Connection.class);
+        var statement = mock(Statement.class);
+        var resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenAnswer(invocation -> lagMillis.get());
+        return dataSource;
+    }
+
+}
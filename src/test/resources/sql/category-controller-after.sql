@@ -1 +1,3 @@
+DELETE FROM "product_category";
 DELETE FROM "category";
+DELETE FROM "product";
@@ -1,9 +1,19 @@
+DELETE FROM "review";
+DELETE FROM "product_category";
 DELETE FROM "category";
+DELETE FROM "product";
 
+ALTER SEQUENCE "product_id_seq" RESTART WITH 1000;
 ALTER SEQUENCE "category_id_seq" RESTART WITH 1;
 
 INSERT INTO "category" ("name") VALUES ('Electronics');
 INSERT INTO "category" ("name") VALUES ('Books');
 INSERT INTO "category" ("name") VALUES ('Clothing');
 
+INSERT INTO "product" ("id", "name", "description", "price") VALUES (1, 'Product 1', 'Description 1', 100.0);
+INSERT INTO "product" ("id", "name", "description", "price") VALUES (2, 'Product 2', 'Description 2', 200.0);
+INSERT INTO "product" ("id", "name", "description", "price") VALUES (3, 'Product 3', 'Description 3', 300.0);
 
+INSERT INTO "product_category" ("product_id", "category_id") VALUES (1, 1);
+INSERT INTO "product_category" ("product_id", "category_id") VALUES (2, 1);
+INSERT INTO "product_category" ("product_id", "category_id") VALUES (2, 3);
@@ -1,3 +1,4 @@
+DELETE FROM "review";
 DELETE FROM "product_category";
 DELETE FROM "category";
 DELETE FROM "product";
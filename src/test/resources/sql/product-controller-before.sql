@@ -1,13 +1,15 @@
+DELETE FROM "review";
 DELETE FROM "product_category";
 DELETE FROM "category";
 DELETE FROM "product";
 
-ALTER SEQUENCE "product_id_seq" RESTART WITH 1;
+ALTER SEQUENCE "product_id_seq" RESTART WITH 1000;
 ALTER SEQUENCE "category_id_seq" RESTART WITH 1;
+ALTER SEQUENCE "review_id_seq" RESTART WITH 1000;
 
-INSERT INTO "product" ("name", "description", "price") VALUES ('Product 1', 'Description 1', 100.0);
-INSERT INTO "product" ("name", "description", "price") VALUES ('Product 2', 'Description 2', 200.0);
-INSERT INTO "product" ("name", "description", "price") VALUES ('Product 3', 'Description 3', 300.0);
+INSERT INTO "product" ("id", "name", "description", "price", "review_count", "rating_sum") VALUES (1, 'Product 1', 'Description 1', 100.0, 2, 4);
+INSERT INTO "product" ("id", "name", "description", "price", "review_count", "rating_sum") VALUES (2, 'Product 2', 'Description 2', 200.0, 2, 7);
+INSERT INTO "product" ("id", "name", "description", "price", "review_count", "rating_sum") VALUES (3, 'Product 3', 'Description 3', 300.0, 0, 0);
 
 INSERT INTO "category" ("name") VALUES ('Category 1');
 INSERT INTO "category" ("name") VALUES ('Category 2');
@@ -17,3 +19,8 @@ INSERT INTO "product_category" ("product_id", "category_id") VALUES (1, 1);
 INSERT INTO "product_category" ("product_id", "category_id") VALUES (1, 2);
 INSERT INTO "product_category" ("product_id", "category_id") VALUES (2, 1);
 INSERT INTO "product_category" ("product_id", "category_id") VALUES (3, 2);
+
+INSERT INTO "review" ("id", "comment", "rating_value", "product_id") VALUES (1, 'Review 1', 1, 1);
+INSERT INTO "review" ("id", "comment", "rating_value", "product_id") VALUES (2, 'Review 2', 3, 1);
+INSERT INTO "review" ("id", "comment", "rating_value", "product_id") VALUES (3, 'Review 3', 4, 2);
+INSERT INTO "review" ("id", "comment", "rating_value", "product_id") VALUES (4, 'Review 4', 3, 2);